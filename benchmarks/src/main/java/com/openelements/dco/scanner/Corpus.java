@@ -0,0 +1,78 @@
+package com.openelements.dco.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class Corpus {
+
+    final static String INTERNAL_DOMAIN = "corp.example.com";
+
+    private final static String[] TRAILER_KEYS = {"Signed-off-by", "Co-authored-by", "Co-developed-by",
+            "Reviewed-by", "Acked-by"};
+
+    private final static String[] WORDS = {"fix", "add", "remove", "refactor", "update", "parser", "cache",
+            "repository", "commit", "handling", "support", "tests", "docs", "build", "release", "config"};
+
+    private Corpus() {
+    }
+
+    static String email(final Random random, final double internalShare) {
+        final int id = random.nextInt(5_000);
+        if (random.nextDouble() < internalShare) {
+            return "dev" + id + "@" + INTERNAL_DOMAIN;
+        }
+        if (random.nextInt(4) == 0) {
+            return id + "+user" + id + "@users.noreply.github.com";
+        }
+        return "contributor" + id + "@example" + (id % 97) + ".org";
+    }
+
+    static String message(final Random random, final int trailers, final double internalShare) {
+        final StringBuilder message = new StringBuilder();
+        message.append(sentence(random, 6)).append("\n\n");
+        final int paragraphs = 1 + random.nextInt(3);
+        for (int i = 0; i < paragraphs; i++) {
+            final int lines = 1 + random.nextInt(5);
+            for (int line = 0; line < lines; line++) {
+                message.append(sentence(random, 8 + random.nextInt(6))).append('\n');
+            }
+            message.append('\n');
+        }
+        for (int i = 0; i < trailers; i++) {
+            final String email = email(random, internalShare);
+            message.append(TRAILER_KEYS[random.nextInt(TRAILER_KEYS.length)])
+                    .append(": ")
+                    .append(name(email))
+                    .append(" <")
+                    .append(email)
+                    .append(">\n");
+        }
+        return message.toString();
+    }
+
+    static List<String> messages(final long seed, final int count, final int trailers, final double internalShare) {
+        final Random random = new Random(seed);
+        final List<String> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(message(random, trailers, internalShare));
+        }
+        return messages;
+    }
+
+    static String name(final String email) {
+        final String local = email.substring(0, email.indexOf('@'));
+        return Character.toUpperCase(local.charAt(0)) + local.substring(1) + " Lastname";
+    }
+
+    private static String sentence(final Random random, final int words) {
+        final StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.openelements.dco.scanner;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentityBenchmark {
+
+    @Param({"100", "10000"})
+    public int allowListSize;
+
+    private IdentityIndex index;
+
+    private List<String> emails;
+
+    @Setup
+    public void setup() {
+        final IdentityIndex.Builder builder = IdentityIndex.builder().addDomain(Corpus.INTERNAL_DOMAIN);
+        IntStream.range(0, allowListSize).forEach(i -> {
+            builder.addEmail("contributor" + i + "@example" + (i % 97) + ".org");
+            builder.addDomain("*.team" + i + ".example.net");
+            builder.addGitHubUser("user" + i);
+        });
+        index = builder.build();
+        PersonFactory.getInstance().addInternalDomain(Corpus.INTERNAL_DOMAIN);
+        final Random random = new Random(7);
+        emails = IntStream.range(0, 1_000).mapToObj(i -> Corpus.email(random, 0.3)).toList();
+    }
+
+    @Benchmark
+    public void isInternal(final Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(index.isInternal(email, null));
+        }
+    }
+
+    @Benchmark
+    public void createPerson(final Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(PersonFactory.getInstance().create(Corpus.name(email), email, Roles.of(Role.AUTHOR)));
+        }
+    }
+}
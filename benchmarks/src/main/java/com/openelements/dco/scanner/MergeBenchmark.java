@@ -0,0 +1,53 @@
+package com.openelements.dco.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MergeBenchmark {
+
+    @Param({"2", "20", "100"})
+    public int trailers;
+
+    private List<Person> basicPersons;
+
+    private List<Person> trailerPersons;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(11);
+        final String author = Corpus.email(random, 0.5);
+        basicPersons = List.of(
+                PersonFactory.getInstance().create(Corpus.name(author), author, Roles.of(Role.AUTHOR)),
+                PersonFactory.getInstance().create(Corpus.name(author), author, Roles.of(Role.COMMITTER)));
+        trailerPersons = new ArrayList<>();
+        for (int i = 0; i < trailers; i++) {
+            final String email = random.nextInt(4) == 0 ? author : Corpus.email(random, 0.5);
+            final Role role = random.nextBoolean() ? Role.SIGNER : Role.CO_AUTHER;
+            trailerPersons.add(PersonFactory.getInstance().create(Corpus.name(email), email, Roles.of(role)));
+        }
+    }
+
+    @Benchmark
+    public Object merge() {
+        return CommitFactory.merge(basicPersons, trailerPersons);
+    }
+}
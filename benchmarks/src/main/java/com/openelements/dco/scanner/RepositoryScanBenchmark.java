@@ -0,0 +1,79 @@
+package com.openelements.dco.scanner;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RepositoryScanBenchmark {
+
+    @Param({"10000"})
+    public int commits;
+
+    @Param({"2"})
+    public int trailersPerCommit;
+
+    @Param({"0.8"})
+    public double internalShare;
+
+    private SyntheticRepository repository;
+
+    private ExecutorService executor;
+
+    private CommitSource parallelSource;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        PersonFactory.getInstance().addInternalDomain(Corpus.INTERNAL_DOMAIN);
+        repository = SyntheticRepository.create(commits, trailersPerCommit, internalShare);
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        executor = Executors.newFixedThreadPool(parallelism);
+        parallelSource = new ParallelCommitSource(executor, parallelism, 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        repository.close();
+    }
+
+    @Benchmark
+    public long scanAllCommits() {
+        try (Stream<Commit> stream = CommitFactory.stream(repository.git(), null, null)) {
+            return stream.filter(commit -> !commit.isValid()).count();
+        }
+    }
+
+    @Benchmark
+    public long scanNonValidCommits() {
+        try (Stream<Commit> stream = CommitFactory.streamNonValid(repository.git(), null, null)) {
+            return stream.count();
+        }
+    }
+
+    @Benchmark
+    public long scanNonValidCommitsInParallel() {
+        try (Stream<Commit> stream = parallelSource.streamNonValid(repository.git(), null, null)) {
+            return stream.count();
+        }
+    }
+}
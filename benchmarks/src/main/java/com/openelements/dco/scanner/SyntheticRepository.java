@@ -0,0 +1,79 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.TreeFormatter;
+
+final class SyntheticRepository implements AutoCloseable {
+
+    private final Path directory;
+
+    private final Git git;
+
+    private SyntheticRepository(final Path directory, final Git git) {
+        this.directory = directory;
+        this.git = git;
+    }
+
+    Git git() {
+        return git;
+    }
+
+    static SyntheticRepository create(final int commits, final int trailersPerCommit, final double internalShare)
+            throws Exception {
+        final Path directory = Files.createTempDirectory("dco-scanner-benchmark");
+        final Git git = Git.init().setBare(true).setDirectory(directory.toFile()).call();
+        final Repository repository = git.getRepository();
+        final Random random = new Random(commits * 31L + trailersPerCommit);
+        try (ObjectInserter inserter = repository.newObjectInserter()) {
+            final ObjectId tree = inserter.insert(new TreeFormatter());
+            ObjectId parent = null;
+            final Instant start = Instant.ofEpochSecond(1_500_000_000L);
+            for (int i = 0; i < commits; i++) {
+                final String email = Corpus.email(random, internalShare);
+                final PersonIdent ident = new PersonIdent(Corpus.name(email), email,
+                        start.plusSeconds(i * 60L), ZoneOffset.UTC);
+                final CommitBuilder commit = new CommitBuilder();
+                commit.setTreeId(tree);
+                if (parent != null) {
+                    commit.setParentId(parent);
+                }
+                commit.setAuthor(ident);
+                commit.setCommitter(ident);
+                commit.setMessage(Corpus.message(random, trailersPerCommit, internalShare));
+                parent = inserter.insert(commit);
+            }
+            inserter.flush();
+            final RefUpdate update = repository.updateRef(Constants.R_HEADS + "main");
+            update.setNewObjectId(parent);
+            update.forceUpdate();
+            repository.updateRef(Constants.HEAD).link(Constants.R_HEADS + "main");
+        }
+        git.gc().call();
+        return new SyntheticRepository(directory, git);
+    }
+
+    @Override
+    public void close() throws IOException {
+        git.close();
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
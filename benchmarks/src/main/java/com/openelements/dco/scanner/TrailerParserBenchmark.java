@@ -0,0 +1,59 @@
+package com.openelements.dco.scanner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrailerParserBenchmark {
+
+    @Param({"0", "3", "30"})
+    public int trailers;
+
+    private List<String> messages;
+
+    private List<byte[]> rawMessages;
+
+    private TrailerParser parser;
+
+    @Setup
+    public void setup() {
+        messages = Corpus.messages(42, 1_000, trailers, 0.5);
+        rawMessages = messages.stream().map(message -> message.getBytes(StandardCharsets.UTF_8)).toList();
+        parser = TrailerParser.defaultParser();
+    }
+
+    @Benchmark
+    public void parse(final Blackhole blackhole) {
+        for (String message : messages) {
+            parser.parse(message, (trailer, name, email) -> {
+                blackhole.consume(name);
+                blackhole.consume(email);
+            });
+        }
+    }
+
+    @Benchmark
+    public void containsAuthorTrailer(final Blackhole blackhole) {
+        for (byte[] rawMessage : rawMessages) {
+            blackhole.consume(parser.containsAuthorTrailer(rawMessage, 0));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.openelements.dco.scanner;
+
+public record CacheStatistics(long hits, long misses, long size) {
+
+    public double hitRate() {
+        final long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
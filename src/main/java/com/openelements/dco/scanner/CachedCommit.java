@@ -0,0 +1,63 @@
+package com.openelements.dco.scanner;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+public record CachedCommit(String identifier, long epochSecond, int offsetSeconds, String subject,
+                           List<Identity> identities) {
+
+    public CachedCommit {
+        if (identifier == null || identifier.isBlank()) {
+            throw new IllegalArgumentException("Identifier must not be null or empty");
+        }
+        Objects.requireNonNull(subject, "Subject must not be null");
+        identities = List.copyOf(Objects.requireNonNull(identities, "Identities must not be null"));
+        if (identities.isEmpty()) {
+            throw new IllegalArgumentException("Identities must not be empty");
+        }
+    }
+
+    public static CachedCommit of(final Commit commit) {
+        Objects.requireNonNull(commit, "Commit must not be null");
+        return new CachedCommit(commit.identifier(), commit.time().toEpochSecond(),
+                commit.time().getOffset().getTotalSeconds(), commit.shortMessage(),
+                commit.persons().stream()
+                        .map(person -> new Identity(person.name(), person.email(), Roles.mask(person.roles())))
+                        .toList());
+    }
+
+    public boolean isValid() {
+        for (Identity identity : identities) {
+            if (!identity.toPerson().isValid()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Commit toCommit() {
+        final Set<Person> persons = new HashSet<>(identities.size() * 2);
+        identities.forEach(identity -> persons.add(identity.toPerson()));
+        final ZonedDateTime time = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond),
+                ZoneOffset.ofTotalSeconds(offsetSeconds));
+        return new Commit(identifier, time, subject, subject, Collections.unmodifiableSet(persons));
+    }
+
+    public record Identity(String name, String email, int roles) {
+
+        public Identity {
+            Objects.requireNonNull(name, "Name must not be null");
+            Objects.requireNonNull(email, "Email must not be null");
+        }
+
+        Person toPerson() {
+            return PersonFactory.getInstance().create(name, email, Roles.fromMask(roles));
+        }
+    }
+}
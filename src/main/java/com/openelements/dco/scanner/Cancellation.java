@@ -0,0 +1,37 @@
+package com.openelements.dco.scanner;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class Cancellation {
+
+    private final static int RUNNING = 0;
+
+    private final static int CANCELLED = 1;
+
+    private final static int COMMITTED = 2;
+
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+    public boolean cancel() {
+        return state.compareAndSet(RUNNING, CANCELLED) || state.get() == CANCELLED;
+    }
+
+    public boolean isCancelled() {
+        return state.get() == CANCELLED;
+    }
+
+    public void commit(final String repositoryUrl) {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        if (Thread.currentThread().isInterrupted() || !state.compareAndSet(RUNNING, COMMITTED)) {
+            throw new CancellationException("Analysis of repository " + repositoryUrl + " was cancelled");
+        }
+    }
+
+    public static void throwIfInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Commit walk was interrupted");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.openelements.dco.scanner;
+
+import java.util.List;
+import java.util.Objects;
+
+public record Checkpoint(String repositoryUrl, String ref, List<String> tips, List<String> reportLines,
+                         List<OutputEntry> entries) {
+
+    public Checkpoint {
+        if (repositoryUrl == null || repositoryUrl.isBlank()) {
+            throw new IllegalArgumentException("Repository URL must not be null or empty");
+        }
+        if (ref == null || ref.isBlank()) {
+            throw new IllegalArgumentException("Ref must not be null or empty");
+        }
+        tips = List.copyOf(Objects.requireNonNull(tips, "Tips must not be null"));
+        if (tips.stream().anyMatch(String::isBlank)) {
+            throw new IllegalArgumentException("Tips must not be empty");
+        }
+        reportLines = List.copyOf(Objects.requireNonNull(reportLines, "Report lines must not be null"));
+        entries = List.copyOf(Objects.requireNonNull(entries, "Entries must not be null"));
+    }
+
+    public boolean hasViolations() {
+        return !reportLines.isEmpty();
+    }
+}
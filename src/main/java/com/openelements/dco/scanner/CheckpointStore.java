@@ -0,0 +1,104 @@
+package com.openelements.dco.scanner;
+
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRecord;
+import de.siegmar.fastcsv.writer.CsvWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class CheckpointStore {
+
+    private final static Logger log = LoggerFactory.getLogger(CheckpointStore.class);
+
+    private final static String TIP = "tip";
+
+    private final static String LINE = "line";
+
+    private final static String ENTRY = "entry";
+
+    private final static String NULL = "";
+
+    private final Path directory;
+
+    public CheckpointStore(final Path directory) {
+        this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+    }
+
+    public Optional<Checkpoint> load(final String repositoryUrl, final String ref) {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        Objects.requireNonNull(ref, "Ref must not be null");
+        final Path path = pathFor(repositoryUrl, ref);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        final List<String> tips = new ArrayList<>();
+        final List<String> reportLines = new ArrayList<>();
+        final List<OutputEntry> entries = new ArrayList<>();
+        try (CsvReader<CsvRecord> csv = CsvReader.builder().ofCsvRecord(path)) {
+            for (CsvRecord record : csv) {
+                switch (record.getField(0)) {
+                    case TIP -> tips.add(record.getField(1));
+                    case LINE -> reportLines.add(record.getField(1));
+                    case ENTRY -> entries.add(new OutputEntry(record.getField(1),
+                            Instant.parse(record.getField(2)), fromField(record.getField(3)),
+                            fromField(record.getField(4)), fromField(record.getField(5))));
+                    default -> log.warn("Ignoring unknown checkpoint record '{}' in {}", record.getField(0), path);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable checkpoint {}", path, e);
+            return Optional.empty();
+        }
+        return Optional.of(new Checkpoint(repositoryUrl, ref, tips, reportLines, entries));
+    }
+
+    public void store(final Checkpoint checkpoint) {
+        Objects.requireNonNull(checkpoint, "Checkpoint must not be null");
+        final Path path = pathFor(checkpoint.repositoryUrl(), checkpoint.ref());
+        try {
+            Files.createDirectories(directory);
+            final Path tempFile = Files.createTempFile(directory, "checkpoint", ".tmp");
+            try (CsvWriter csv = CsvWriter.builder().build(tempFile)) {
+                checkpoint.tips().forEach(tip -> csv.writeRecord(TIP, tip));
+                checkpoint.reportLines().forEach(line -> csv.writeRecord(LINE, line));
+                checkpoint.entries().forEach(entry -> csv.writeRecord(ENTRY, entry.commitLink(),
+                        entry.time().toString(), toField(entry.name()), toField(entry.email()),
+                        toField(entry.githubAccount())));
+            }
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while storing checkpoint for " + checkpoint.repositoryUrl(), e);
+        }
+    }
+
+    private Path pathFor(final String repositoryUrl, final String ref) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] hash = digest.digest((repositoryUrl + "\n" + ref).getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(hash) + ".csv");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    private static String toField(final String value) {
+        return value == null ? NULL : value;
+    }
+
+    private static String fromField(final String value) {
+        return NULL.equals(value) ? null : value;
+    }
+}
@@ -1,21 +1,27 @@
 package com.openelements.dco.scanner;
 
+import java.io.IOException;
 import java.time.ZonedDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.util.RawParseUtils;
 import org.slf4j.Logger;
 import org.slf4j.MDC;
 
@@ -23,164 +29,250 @@ public class CommitFactory {
 
     private final static Logger log = org.slf4j.LoggerFactory.getLogger(CommitFactory.class);
 
-    private final static boolean STRICT = true;
+    private static volatile TrailerParser trailerParser = TrailerParser.defaultParser();
+
+    private static volatile boolean commitLogging = false;
+
+    private static volatile ObjectAccessSettings objectAccess = ObjectAccessSettings.defaults();
+
+    private static volatile VerdictCache verdictCache = VerdictCache.disabled();
+
+    private static volatile ResultStore resultStore = ResultStore.disabled();
 
     private CommitFactory() {
     }
 
+    public static void setTrailerParser(final TrailerParser parser) {
+        trailerParser = Objects.requireNonNull(parser, "Parser must not be null");
+    }
+
+    public static void setCommitLogging(final boolean enabled) {
+        commitLogging = enabled;
+    }
+
+    public static void setObjectAccess(final ObjectAccessSettings settings) {
+        objectAccess = Objects.requireNonNull(settings, "Settings must not be null");
+    }
+
+    static ObjectAccessSettings objectAccess() {
+        return objectAccess;
+    }
+
+    public static void setVerdictCache(final VerdictCache cache) {
+        verdictCache = Objects.requireNonNull(cache, "Cache must not be null");
+    }
+
+    public static void setResultStore(final ResultStore store) {
+        resultStore = Objects.requireNonNull(store, "Store must not be null");
+    }
+
+    public static ResultStore resultStore() {
+        return resultStore;
+    }
+
     public static List<Commit> createFor(final Git git) {
+        return createFor(git, null, null);
+    }
+
+    public static List<Commit> createFor(final Git git, final ObjectId start, final ObjectId checkpoint) {
+        try (Stream<Commit> commits = stream(git, start, checkpoint)) {
+            return commits.toList();
+        }
+    }
+
+    public static Stream<Commit> stream(final Git git, final ObjectId start, final ObjectId checkpoint) {
+        Objects.requireNonNull(git, "Git must not be null");
+        return stream(git, HistoryRange.of(git.getRepository(), start, checkpoint));
+    }
+
+    public static Stream<Commit> stream(final Git git, final HistoryRange range) {
+        return walk(git, range)
+                .map(revCommit -> {
+                    final Commit commit = CommitFactory.of(revCommit);
+                    revCommit.disposeBody();
+                    return commit;
+                });
+    }
+
+    public static Stream<Commit> streamNonValid(final Git git, final ObjectId start, final ObjectId checkpoint) {
+        return streamNonValid(git, start, checkpoint, RepositoryMetrics.discarding());
+    }
+
+    public static Stream<Commit> streamNonValid(final Git git, final ObjectId start, final ObjectId checkpoint,
+            final RepositoryMetrics metrics) {
         Objects.requireNonNull(git, "Git must not be null");
+        return streamNonValidIn(git, HistoryRange.of(git.getRepository(), start, checkpoint), metrics);
+    }
+
+    public static Stream<Commit> streamNonValidIn(final Git git, final HistoryRange range,
+            final RepositoryMetrics metrics) {
+        Objects.requireNonNull(metrics, "Metrics must not be null");
+        return walk(git, range)
+                .map(revCommit -> nonValidOrNull(revCommit, metrics))
+                .filter(Objects::nonNull);
+    }
+
+    static Commit nonValidOrNull(final RevCommit revCommit, final RepositoryMetrics metrics) {
+        metrics.recordCommitWalked();
+        final CachedCommit cached = verdictCache.get(revCommit);
+        if (cached != null) {
+            revCommit.disposeBody();
+            return nonValidOrNull(cached, metrics);
+        }
+        return parseNonValidOrNull(revCommit, metrics);
+    }
+
+    static Commit nonValidOrNull(final RevWalk walk, final ObjectId commitId, final RepositoryMetrics metrics)
+            throws IOException {
+        metrics.recordCommitWalked();
+        final CachedCommit cached = verdictCache.get(commitId);
+        if (cached != null) {
+            return nonValidOrNull(cached, metrics);
+        }
+        return parseNonValidOrNull(walk.parseCommit(commitId), metrics);
+    }
+
+    private static Commit nonValidOrNull(final CachedCommit cached, final RepositoryMetrics metrics) {
+        metrics.recordCommitCached();
+        resultStore.record(metrics.repositoryUrl(), cached);
+        return cached.isValid() ? null : cached.toCommit();
+    }
+
+    private static Commit parseNonValidOrNull(final RevCommit revCommit, final RepositoryMetrics metrics) {
+        try {
+            final VerdictCache cache = verdictCache;
+            final ResultStore store = resultStore;
+            if (!cache.isEnabled() && !store.isEnabled() && isCertainlyValid(revCommit)) {
+                return null;
+            }
+            final long start = System.nanoTime();
+            final Commit commit = CommitFactory.of(revCommit);
+            metrics.recordCommitParsed(System.nanoTime() - start);
+            cache.put(commit);
+            store.record(metrics.repositoryUrl(), commit);
+            return commit.isValid() ? null : commit;
+        } finally {
+            revCommit.disposeBody();
+        }
+    }
+
+    private static Stream<RevCommit> walk(final Git git, final HistoryRange range) {
+        Objects.requireNonNull(git, "Git must not be null");
+        Objects.requireNonNull(range, "Range must not be null");
         log.debug("Scanning commits for {}", git.getRepository().getDirectory());
+        final ObjectAccessSettings settings = objectAccess;
+        settings.configure(git.getRepository());
+        final RevWalk walk = new RevWalk(git.getRepository());
+        settings.configure(walk);
         try {
-            final Iterable<RevCommit> commitIterable = git.log().call();
-            return toStream(commitIterable)
-                    .map(revCommit -> CommitFactory.of(revCommit))
-                    .toList();
+            if (!range.markOn(walk)) {
+                walk.close();
+                return Stream.empty();
+            }
         } catch (Exception e) {
+            walk.close();
             throw new RuntimeException("Error while scanning commits of repository", e);
         }
+        return toStream(walk.iterator())
+                .map(revCommit -> {
+                    Cancellation.throwIfInterrupted();
+                    return revCommit;
+                })
+                .onClose(walk::close);
+    }
+
+    static boolean isCertainlyValid(final RevCommit revCommit) {
+        final byte[] raw = revCommit.getRawBuffer();
+        if (raw == null) {
+            return false;
+        }
+        final int authorStart = RawParseUtils.author(raw, 0);
+        if (authorStart < 0) {
+            return false;
+        }
+        final int emailStart = RawParseUtils.next(raw, authorStart, '<');
+        final int emailEnd = RawParseUtils.next(raw, emailStart, '>') - 1;
+        if (emailStart <= authorStart || emailEnd <= emailStart || raw[emailEnd] != '>') {
+            return false;
+        }
+        final String email = RawParseUtils.decode(raw, emailStart, emailEnd);
+        if (email.isBlank() || email.indexOf('\n') >= 0 || !PersonFactory.getInstance().isInternal(email)) {
+            return false;
+        }
+        final int messageStart = RawParseUtils.commitMessage(raw, 0);
+        return messageStart >= 0 && !trailerParser.containsAuthorTrailer(raw, messageStart);
     }
 
     public static Commit of(final RevCommit revCommit) {
         Objects.requireNonNull(revCommit, "RevCommit must not be null");
         final String identifier = revCommit.getName();
-        MDC.put("commit", identifier);
-        try {
+        final boolean logging = commitLogging;
+        if (logging) {
+            MDC.put("commit", identifier);
             log.debug("Processing commit {}", identifier);
+        }
+        try {
             final ZonedDateTime time = ZonedDateTime.ofInstant(revCommit.getAuthorIdent().getWhen().toInstant(),
                     revCommit.getAuthorIdent().getTimeZone().toZoneId());
             final String fullMessage = revCommit.getFullMessage();
             final String shortMessage = revCommit.getShortMessage();
-            final Set<Person> basicPersons = new HashSet<>();
+            final List<Person> basicPersons = new ArrayList<>(2);
             final Person author = PersonFactory.getInstance().create(revCommit.getAuthorIdent().getName(),
-                    revCommit.getAuthorIdent().getEmailAddress(), Set.of(Role.AUTHOR));
+                    revCommit.getAuthorIdent().getEmailAddress(), Roles.of(Role.AUTHOR));
             basicPersons.add(author);
             Optional.ofNullable(revCommit.getCommitterIdent())
                     .map(committerIdent -> PersonFactory.getInstance()
                             .create(committerIdent.getName(), committerIdent.getEmailAddress(),
-                                    Set.of(Role.COMMITTER)))
+                                    Roles.of(Role.COMMITTER)))
                     .ifPresent(basicPersons::add);
-            final Set<Person> coAuthors = extractFromMessage(fullMessage, "Co-authored-by:", Role.CO_AUTHER, false);
-            final Set<Person> coDevelopers = extractFromMessage(fullMessage, "Co-developed-by:", Role.CO_AUTHER, false);
-            final Set<Person> signers = extractFromMessage(fullMessage, "Signed-off-by:", Role.SIGNER, true);
-            final Set<Person> mergedPersons = merge(basicPersons, coAuthors, coDevelopers, signers);
-            return new Commit(identifier, time, fullMessage, shortMessage, Collections.unmodifiableSet(mergedPersons));
+            final List<Person> trailerPersons = new ArrayList<>();
+            trailerParser.parse(fullMessage, (trailer, name, email) -> trailerPersons.add(
+                    PersonFactory.getInstance().create(name, email, Roles.of(trailer.role()))));
+            final Set<Person> mergedPersons = merge(basicPersons, trailerPersons);
+            return new Commit(identifier, time, fullMessage, shortMessage, mergedPersons);
         } finally {
-            MDC.remove("commit");
+            if (logging) {
+                MDC.remove("commit");
+            }
         }
     }
 
-    private static Set<Person> extractFromMessage(final String fullMessage, final String identifierInMessage,
-            final Role role, final boolean strict) {
-        Objects.requireNonNull(fullMessage, "Full message must not be null");
-        Objects.requireNonNull(identifierInMessage, "Identifier in message must not be null");
-        Objects.requireNonNull(role, "Role must not be null");
-        try {
-            return fullMessage.lines()
-                    .filter(line -> line.contains(identifierInMessage))
-                    .map(line -> {
-                        try {
-                            if (STRICT) {
-                                try {
-                                    String term = line.substring(identifierInMessage.length() + 1);
-                                    final List<String> sections = Arrays.asList(term.split(" "));
-                                    if (sections.size() >= 2) {
-                                        final String name = sections.subList(0, sections.size() - 1).stream()
-                                                .collect(Collectors.joining(" "));
-                                        final String emailSection = sections.get(sections.size() - 1);
-                                        if (!emailSection.startsWith("<")) {
-                                            throw new IllegalArgumentException("Email must start with '<'");
-                                        }
-                                        if (!emailSection.endsWith(">")) {
-                                            throw new IllegalArgumentException("Email must end with '>'");
-                                        }
-                                        final String email = emailSection.substring(1, emailSection.length() - 1);
-                                        return PersonFactory.getInstance().create(name, email, Set.of(role));
-                                    } else {
-                                        throw new IllegalArgumentException("Term must not be null or empty");
-                                    }
-                                } catch (Exception e) {
-                                    log.warn("Strict mode violation in line: " + line);
-                                    return null;
-                                }
-                            } else {
-                                final int start = line.indexOf(identifierInMessage) + identifierInMessage.length();
-                                final String term = line.substring(start).trim();
-                                if (term.isBlank()) {
-                                    throw new IllegalArgumentException("Term must not be null or empty");
-                                }
-                                if (term.contains("<") && term.contains(">")) {
-                                    final int emailStart = term.indexOf("<");
-                                    final String name = term.substring(0, emailStart).trim();
-                                    final int emailEnd = term.indexOf(">");
-                                    final String email = term.substring(emailStart + 1, emailEnd).trim();
-                                    return PersonFactory.getInstance().create(name, email, Set.of(role));
-                                } else {
-                                    final List<String> sections = Arrays.asList(term.split(" "));
-                                    if (sections.size() >= 2) {
-                                        final String name = sections.subList(0, sections.size() - 1).stream()
-                                                .collect(Collectors.joining(" "));
-                                        final String email = sections.get(sections.size() - 1);
-                                        return PersonFactory.getInstance().create(name, email, Set.of(role));
-                                    } else if (sections.size() == 1) {
-                                        final String name = sections.get(0);
-                                        if (name.contains("@")) {
-                                            return PersonFactory.getInstance().create("UNKNOWN", name, Set.of(role));
-                                        } else {
-                                            return PersonFactory.getInstance().create(name, "UNKNOWN", Set.of(role));
-                                        }
-                                    } else {
-                                        throw new IllegalArgumentException("Term must not be null or empty");
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            throw new RuntimeException(
-                                    "Error while extracting " + identifierInMessage + " from line: " + line,
-                                    e);
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toUnmodifiableSet());
-        } catch (Exception e) {
-            log.error("Error while extracting '" + identifierInMessage + "' from message", e);
-            return Set.of(new Person("UNKNOWN", "UNKNOWN", null, Set.of(role), false));
+    @SafeVarargs
+    static Set<Person> merge(final Collection<Person>... groups) {
+        Objects.requireNonNull(groups, "Groups must not be null");
+        final Map<String, MergedPerson> merged = new HashMap<>();
+        for (Collection<Person> group : groups) {
+            for (Person person : group) {
+                merged.computeIfAbsent(person.email(), email -> new MergedPerson(person))
+                        .roles |= Roles.mask(person.roles());
+            }
         }
-    }
-
-    private static Set<Person> merge(Set<Person>... sets) {
-        Objects.requireNonNull(sets, "Sets must not be null");
-        if (sets.length == 0) {
-            return Set.of();
-        }
-        if (sets.length == 1) {
-            return Collections.unmodifiableSet(sets[0]);
+        final Set<Person> result = new HashSet<>(merged.size() * 2);
+        for (MergedPerson mergedPerson : merged.values()) {
+            result.add(mergedPerson.toPerson());
         }
-        final Set<Person> merged = new HashSet<>();
-        for (Set<Person> set : sets) {
-            set.stream().forEach(person -> {
-                final Optional<Person> existingPerson = merged.stream()
-                        .filter(p -> Objects.equals(p.email(), person.email())).findAny();
-                if (existingPerson.isPresent()) {
-                    final HashSet<Role> mergedRoles = new HashSet<>(existingPerson.get().roles());
-                    mergedRoles.addAll(person.roles());
-                    final Person updatedPerson = PersonFactory.getInstance()
-                            .create(existingPerson.get().name(), existingPerson.get().email(), mergedRoles);
-                    merged.remove(existingPerson.get());
-                    merged.add(updatedPerson);
-                } else {
-                    merged.add(person);
-                }
-            });
-        }
-        return Collections.unmodifiableSet(merged);
-    }
-
-    private static <T> Stream<T> toStream(Iterable<T> iterable) {
-        return toStream(iterable.iterator());
+        return Collections.unmodifiableSet(result);
     }
 
     private static <T> Stream<T> toStream(Iterator<T> iterator) {
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
     }
+
+    private static final class MergedPerson {
+
+        private final Person first;
+
+        private int roles;
+
+        private MergedPerson(final Person first) {
+            this.first = first;
+        }
+
+        private Person toPerson() {
+            if (roles == Roles.mask(first.roles())) {
+                return first;
+            }
+            return PersonFactory.getInstance().create(first.name(), first.email(), Roles.fromMask(roles));
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package com.openelements.dco.scanner;
+
+import java.util.stream.Stream;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectId;
+
+@FunctionalInterface
+public interface CommitSource {
+
+    Stream<Commit> streamNonValidIn(Git git, HistoryRange range, RepositoryMetrics metrics);
+
+    default Stream<Commit> streamNonValid(Git git, ObjectId start, ObjectId checkpoint, RepositoryMetrics metrics) {
+        return streamNonValidIn(git, HistoryRange.of(git.getRepository(), start, checkpoint), metrics);
+    }
+
+    default Stream<Commit> streamNonValid(Git git, ObjectId start, ObjectId checkpoint) {
+        return streamNonValid(git, start, checkpoint, RepositoryMetrics.discarding());
+    }
+}
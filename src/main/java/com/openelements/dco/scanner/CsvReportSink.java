@@ -0,0 +1,36 @@
+package com.openelements.dco.scanner;
+
+import de.siegmar.fastcsv.writer.CsvWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+public class CsvReportSink implements ReportSink {
+
+    private final CsvWriter csv;
+
+    public CsvReportSink(final Path path) throws IOException {
+        Objects.requireNonNull(path, "Path must not be null");
+        csv = CsvWriter.builder().build(path);
+        csv.writeRecord("commit", "name", "email", "GithubAccount");
+        csv.flush();
+    }
+
+    @Override
+    public synchronized void accept(final String repositoryUrl, final List<OutputEntry> entries) throws IOException {
+        for (OutputEntry entry : entries) {
+            if (entry.githubAccount() != null) {
+                csv.writeRecord(entry.commitLink(), entry.name(), "-", "hhtps://github/" + entry.githubAccount());
+            } else {
+                csv.writeRecord(entry.commitLink(), entry.name(), entry.email(), "-");
+            }
+        }
+        csv.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        csv.close();
+    }
+}
@@ -1,21 +1,33 @@
 package com.openelements.dco.scanner;
 
-import de.siegmar.fastcsv.writer.CsvWriter;
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import org.eclipse.jgit.api.Git;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 public class DcoScanner {
 
     private final static Logger log = LoggerFactory.getLogger(DcoScanner.class);
 
+    private final static Path OUTPUT_DIRECTORY = Path.of("out");
+
+    private final static Path STATISTICS_FILE = OUTPUT_DIRECTORY.resolve("statistics.json");
+
+    private final static String HTTP_MAX_CONNECTIONS = "http.maxConnections";
+
     public static void main(String[] args) throws Exception {
+        final ScannerOptions options = ScannerOptions.fromArgs(args);
+        CommitFactory.setCommitLogging(options.commitLogging());
+        final ObjectAccessSettings objectAccessSettings = options.objectAccessSettings();
+        objectAccessSettings.install();
+        CommitFactory.setObjectAccess(objectAccessSettings);
         readFile(Path.of("internal-domains.txt"))
                 .forEach(PersonFactory.getInstance()::addInternalDomain);
         readFile(Path.of("internal-emails.txt")).forEach(PersonFactory.getInstance()::addInternalEmail);
@@ -23,67 +35,96 @@ public class DcoScanner {
                 .forEach(PersonFactory.getInstance()::addInternalGitHubUser);
         final List<String> repositories = readFile(Path.of("repositories.txt"));
 
-        final List<OutputEntry> allNonValidCommits = new CopyOnWriteArrayList<>();
-        repositories.stream().parallel()
-                .forEach(repo -> {
-                    try {
-                        MDC.put("repository", repo);
-                        log.info("Scanning repository {}", repo);
-                        final List<Commit> nonValidCommits = scanRepositoryForNonValidCommits(repo);
-                        if (!nonValidCommits.isEmpty()) {
-                            log.info("Repository {} contains non valid commits", repo);
-                            final String org = repo.substring("https://github.com/".length()).split("/")[0];
-                            final String name = repo.substring("https://github.com/".length()).split("/")[1];
-                            final Path outputDir = Path.of("out/" + org);
-                            Files.createDirectories(outputDir);
-                            final Path path = Paths.get(outputDir.toString(), name + ".txt");
-                            if (Files.exists(path)) {
-                                Files.delete(path);
-                            }
-                            Files.write(path,
-                                    nonValidCommits.stream().map(c -> toPrintableString(repo, c)).toList());
-                            nonValidCommits.stream().forEach(c -> c.invalidPersons().stream()
-                                    .map(p -> new OutputEntry(repo, c, p))
-                                    .forEach(allNonValidCommits::add));
-                        } else {
-                            log.info("Repository {} is clean", repo);
-                        }
-                    } catch (Exception e) {
-                        throw new RuntimeException("Error while handling repository " + repo, e);
-                    } finally {
-                        MDC.remove("repository");
-                    }
-                });
-        final Path outputDir = Path.of("out/all.txt");
-        if (Files.exists(outputDir)) {
-            Files.delete(outputDir);
+        final CheckpointStore checkpointStore = new CheckpointStore(options.checkpointDirectory());
+        final FetchPool fetchPool = options.fetchPool();
+        if (System.getProperty(HTTP_MAX_CONNECTIONS) == null) {
+            System.setProperty(HTTP_MAX_CONNECTIONS, Integer.toString(fetchPool.perHostLimit()));
         }
-        try (CsvWriter csv = CsvWriter.builder().build(outputDir)) {
-            csv.writeRecord("commit", "name", "email", "GithubAccount");
-            allNonValidCommits.stream()
-                    .forEach(d -> {
-                        if (d.githubAccount() != null) {
-                            csv.writeRecord(d.commitLink(), d.name(), "-", "hhtps://github/" + d.githubAccount());
-                        } else {
-                            csv.writeRecord(d.commitLink(), d.name(), d.email(), "-");
+        final MirrorCache mirrorCache = new MirrorCache(options.cacheDirectory(), options.cacheMaxBytes(),
+                options.serviceMode(), fetchPool);
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        fetchPool.registerGauges(metricsRegistry);
+        metricsRegistry.registerGauge("person.cache.hits", () -> PersonFactory.getInstance().cacheStatistics().hits());
+        metricsRegistry.registerGauge("person.cache.misses",
+                () -> PersonFactory.getInstance().cacheStatistics().misses());
+        metricsRegistry.registerGauge("person.cache.size", () -> PersonFactory.getInstance().cacheStatistics().size());
+        final ResultStore resultStore = options.resultStore() ? ResultStore.load(options.resultStoreFile())
+                : ResultStore.disabled();
+        CommitFactory.setResultStore(resultStore);
+        metricsRegistry.registerGauge("result.store.commits", resultStore::commitCount);
+        ScanMetrics.registerMBean(metricsRegistry);
+        final Queue<String> failedRepositories = new ConcurrentLinkedQueue<>();
+        try (VerdictCache verdictCache = options.verdictCache() ? VerdictCache.open(options.verdictCacheFile())
+                : VerdictCache.disabled();
+                ExecutorService historyExecutor = Executors.newFixedThreadPool(options.historyParallelism(),
+                        Thread.ofPlatform().name("dco-history-", 0).daemon().factory())) {
+            CommitFactory.setVerdictCache(verdictCache);
+            metricsRegistry.registerGauge("verdict.cache.size", verdictCache::size);
+            final CommitSource commitSource = options.historyParallelism() > 1
+                    ? new ParallelCommitSource(historyExecutor, options.historyParallelism(),
+                    options.historyBatchSize())
+                    : CommitFactory::streamNonValidIn;
+            final RepositoryScanner repositoryScanner = new RepositoryScanner(checkpointStore, mirrorCache,
+                    commitSource, metricsRegistry, options.scanScope());
+            try (ScanScheduler scheduler = new ScanScheduler(repositoryScanner, options.fetchConcurrency(),
+                    options.analysisConcurrency(), options.repositoryTimeout(), options.fetchRetries())) {
+                scheduler.registerGauges(metricsRegistry);
+                if (options.serviceMode()) {
+                    runService(options, scheduler, checkpointStore, repositoryScanner.scope(), mirrorCache,
+                            metricsRegistry, repositories);
+                    writeResults(options, resultStore);
+                    return;
+                }
+                try (ReportSink reportSink = ReportSinks.create(OUTPUT_DIRECTORY, options.reportFormats())) {
+                    scheduler.scan(repositories, result -> {
+                        if (!result.isSuccess()) {
+                            failedRepositories.add(result.repositoryUrl());
+                            return;
+                        }
+                        try {
+                            reportSink.accept(result.repositoryUrl(), result.checkpoint().entries());
+                        } catch (IOException e) {
+                            log.error("Error while reporting repository {}", result.repositoryUrl(), e);
+                            failedRepositories.add(result.repositoryUrl());
                         }
                     });
+                }
+            }
+        }
+        mirrorCache.evict();
+        writeResults(options, resultStore);
+        log.info("Person cache statistics: {}", PersonFactory.getInstance().cacheStatistics());
+        metricsRegistry.writeJson(options.metricsFile());
+        log.info("Scanned {} commits of {} repositories in {} ms, metrics written to {}",
+                metricsRegistry.total(RepositoryMetrics::commitsWalked), repositories.size(),
+                metricsRegistry.elapsedNanos() / 1_000_000, options.metricsFile());
+        if (!failedRepositories.isEmpty()) {
+            throw new IllegalStateException("Scanning failed for repositories " + failedRepositories);
         }
-
-        Files.write(outputDir, allNonValidCommits.stream().map(c -> c.toString()).toList());
     }
 
 
-    private static String toPrintableString(final String repositoryUrl, final Commit nonValidCommit) {
-        return repositoryUrl + "/commit/" + nonValidCommit.identifier() + " " + nonValidCommit.invalidPersons();
+    private static void runService(final ScannerOptions options, final ScanScheduler scheduler,
+            final CheckpointStore checkpointStore, final ScanScope scope, final MirrorCache mirrorCache,
+            final MetricsRegistry metricsRegistry, final List<String> repositories) throws Exception {
+        try (mirrorCache; ScanService service = new ScanService(scheduler, checkpointStore, scope, mirrorCache,
+                metricsRegistry, repositories, options.fetchConcurrency())) {
+            Runtime.getRuntime().addShutdownHook(new Thread(service::close, "dco-service-shutdown"));
+            service.start(new InetSocketAddress(options.servicePort()));
+            repositories.forEach(service::submit);
+            service.awaitTermination();
+        }
     }
 
-    private static List<Commit> scanRepositoryForNonValidCommits(final String repositoryUrl) {
-        final Git git = RepositoryFactory.checkout(repositoryUrl);
-        final List<Commit> list = CommitFactory.createFor(git);
-        return list.stream()
-                .filter(commit -> !commit.isValid())
-                .toList();
+    private static void writeResults(final ScannerOptions options, final ResultStore resultStore)
+            throws IOException {
+        if (!resultStore.isEnabled()) {
+            return;
+        }
+        resultStore.write(options.resultStoreFile());
+        resultStore.writeStatistics(STATISTICS_FILE);
+        log.info("Stored {} commits in result store {}, statistics written to {}", resultStore.commitCount(),
+                options.resultStoreFile(), STATISTICS_FILE);
     }
 
     private static List<String> readFile(Path path) {
@@ -0,0 +1,253 @@
+package com.openelements.dco.scanner;
+
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jgit.api.TransportConfigCallback;
+import org.eclipse.jgit.errors.NoRemoteRepositoryException;
+import org.eclipse.jgit.errors.PackProtocolException;
+import org.eclipse.jgit.transport.FilterSpec;
+import org.eclipse.jgit.transport.URIish;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class FetchPool {
+
+    private final static Logger log = LoggerFactory.getLogger(FetchPool.class);
+
+    public final static int DEFAULT_PER_HOST_LIMIT = 4;
+
+    public final static String NO_FILTER = "none";
+
+    public final static String DEFAULT_FILTER = "blob:none";
+
+    private final static Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    private final static Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final int perHostLimit;
+
+    private final FilterSpec filter;
+
+    private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    private final AtomicInteger activeTransfers = new AtomicInteger();
+
+    private final ThreadLocal<Host> reservedHost = new ThreadLocal<>();
+
+    public FetchPool(final int perHostLimit, final FilterSpec filter) {
+        if (perHostLimit < 1) {
+            throw new IllegalArgumentException("Per host limit must be at least 1");
+        }
+        this.perHostLimit = perHostLimit;
+        this.filter = Objects.requireNonNull(filter, "Filter must not be null");
+    }
+
+    public static FetchPool defaults() {
+        return new FetchPool(DEFAULT_PER_HOST_LIMIT, filterOf(DEFAULT_FILTER));
+    }
+
+    public static FilterSpec filterOf(final String filterLine) {
+        Objects.requireNonNull(filterLine, "Filter line must not be null");
+        if (filterLine.isBlank() || filterLine.equalsIgnoreCase(NO_FILTER)) {
+            return FilterSpec.NO_FILTER;
+        }
+        try {
+            return FilterSpec.fromFilterLine(filterLine);
+        } catch (PackProtocolException e) {
+            throw new IllegalArgumentException("Unsupported fetch filter '" + filterLine + "'", e);
+        }
+    }
+
+    public int perHostLimit() {
+        return perHostLimit;
+    }
+
+    boolean isFilterSupported(final String repositoryUrl) {
+        final Host host = hosts.get(hostKey(repositoryUrl));
+        return host == null || host.filterSupported;
+    }
+
+    public void registerGauges(final MetricsRegistry metricsRegistry) {
+        Objects.requireNonNull(metricsRegistry, "Metrics registry must not be null");
+        metricsRegistry.registerGauge("fetch.active", activeTransfers::get);
+        metricsRegistry.registerGauge("fetch.throttled.hosts",
+                () -> hosts.values().stream().filter(host -> host.remainingBackoffMillis() > 0).count());
+    }
+
+    public <T> T listRemote(final String repositoryUrl, final Transfer<T> transfer) throws Exception {
+        return execute(repositoryUrl, false, transfer);
+    }
+
+    public <T> T fetch(final String repositoryUrl, final Transfer<T> transfer) throws Exception {
+        return execute(repositoryUrl, true, transfer);
+    }
+
+    public Reservation reserve(final String repositoryUrl) throws InterruptedException {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        final String hostKey = hostKey(repositoryUrl);
+        final Host host = hosts.computeIfAbsent(hostKey, key -> new Host());
+        if (reservedHost.get() == host) {
+            return new Reservation(null);
+        }
+        acquire(hostKey, host);
+        reservedHost.set(host);
+        return new Reservation(host);
+    }
+
+    private <T> T execute(final String repositoryUrl, final boolean filtered, final Transfer<T> transfer)
+            throws Exception {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        Objects.requireNonNull(transfer, "Transfer must not be null");
+        final String hostKey = hostKey(repositoryUrl);
+        final Host host = hosts.computeIfAbsent(hostKey, key -> new Host());
+        final boolean reserved = reservedHost.get() == host;
+        if (!reserved) {
+            acquire(hostKey, host);
+        }
+        activeTransfers.incrementAndGet();
+        try {
+            final boolean useFilter = filtered && !filter.isNoOp() && host.filterSupported;
+            try {
+                final T result = transfer.run(useFilter ? transport -> transport.setFilterSpec(filter)
+                        : transport -> { });
+                host.recordSuccess();
+                return result;
+            } catch (Exception e) {
+                if (useFilter && isFilterUnsupported(e)) {
+                    if (host.filterSupported) {
+                        host.filterSupported = false;
+                        log.info("Host {} does not support partial clones, fetching complete history", hostKey);
+                    }
+                    final T result = transfer.run(transport -> { });
+                    host.recordSuccess();
+                    return result;
+                }
+                throw e;
+            }
+        } catch (Exception e) {
+            if (isTransportFailure(e)) {
+                final Duration backoff = host.recordFailure();
+                log.warn("Transfer from host {} failed, backing off for {}", hostKey, backoff);
+            }
+            throw e;
+        } finally {
+            activeTransfers.decrementAndGet();
+            if (!reserved) {
+                host.permits.release();
+            }
+        }
+    }
+
+    private static void acquire(final String hostKey, final Host host) throws InterruptedException {
+        while (true) {
+            long backoffMillis;
+            while ((backoffMillis = host.remainingBackoffMillis()) > 0) {
+                log.debug("Waiting {} ms before contacting throttled host {}", backoffMillis, hostKey);
+                Thread.sleep(backoffMillis);
+            }
+            host.permits.acquire();
+            if (host.remainingBackoffMillis() == 0) {
+                return;
+            }
+            host.permits.release();
+        }
+    }
+
+    long remainingBackoffMillis(final String repositoryUrl) {
+        final Host host = hosts.get(hostKey(repositoryUrl));
+        return host == null ? 0 : host.remainingBackoffMillis();
+    }
+
+    private static String hostKey(final String repositoryUrl) {
+        try {
+            final URIish uri = new URIish(repositoryUrl);
+            if (uri.getHost() == null) {
+                return uri.getScheme() == null ? "file" : uri.getScheme();
+            }
+            return uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : "");
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid repository URL '" + repositoryUrl + "'", e);
+        }
+    }
+
+    private static boolean isFilterUnsupported(final Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PackProtocolException && cause.getMessage() != null
+                    && cause.getMessage().toLowerCase(Locale.ROOT).contains("filter")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTransportFailure(final Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NoRemoteRepositoryException) {
+                return false;
+            }
+            if (cause instanceof org.eclipse.jgit.errors.TransportException
+                    || cause instanceof org.eclipse.jgit.api.errors.TransportException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public final class Reservation implements AutoCloseable {
+
+        private Host host;
+
+        private Reservation(final Host host) {
+            this.host = host;
+        }
+
+        @Override
+        public void close() {
+            if (host != null) {
+                reservedHost.remove();
+                host.permits.release();
+                host = null;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Transfer<T> {
+        T run(TransportConfigCallback transportConfig) throws Exception;
+    }
+
+    private final class Host {
+
+        private final Semaphore permits = new Semaphore(perHostLimit, true);
+
+        private volatile boolean filterSupported = true;
+
+        private int failures;
+
+        private long backoffUntilNanos;
+
+        private synchronized long remainingBackoffMillis() {
+            return failures == 0 ? 0 : Math.max(0, (backoffUntilNanos - System.nanoTime()) / 1_000_000);
+        }
+
+        private synchronized void recordSuccess() {
+            failures = 0;
+        }
+
+        private synchronized Duration recordFailure() {
+            failures++;
+            final long maxMillis = Math.min(MAX_BACKOFF.toMillis(),
+                    INITIAL_BACKOFF.toMillis() << Math.min(failures - 1, 16));
+            final long millis = maxMillis / 2 + ThreadLocalRandom.current().nextLong(maxMillis / 2 + 1);
+            backoffUntilNanos = Math.max(backoffUntilNanos, System.nanoTime() + millis * 1_000_000);
+            return Duration.ofMillis(millis);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.openelements.dco.scanner;
+
+import java.util.Locale;
+import org.eclipse.jgit.revwalk.RevSort;
+
+public enum HistoryOrder {
+    NONE(RevSort.NONE),
+    COMMIT_TIME(RevSort.COMMIT_TIME_DESC),
+    TOPO(RevSort.TOPO);
+
+    private final RevSort revSort;
+
+    HistoryOrder(final RevSort revSort) {
+        this.revSort = revSort;
+    }
+
+    public RevSort revSort() {
+        return revSort;
+    }
+
+    public static HistoryOrder of(final String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("History order must not be null or empty");
+        }
+        try {
+            return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported history order '" + name + "'", e);
+        }
+    }
+}
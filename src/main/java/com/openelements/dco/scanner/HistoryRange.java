@@ -0,0 +1,82 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.CommitTimeRevFilter;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+
+public record HistoryRange(List<ObjectId> starts, List<ObjectId> uninteresting, Instant since, Instant until) {
+
+    public HistoryRange {
+        starts = List.copyOf(Objects.requireNonNull(starts, "Starts must not be null"));
+        uninteresting = List.copyOf(Objects.requireNonNull(uninteresting, "Uninteresting must not be null"));
+        if (since != null && until != null && until.isBefore(since)) {
+            throw new IllegalArgumentException("Until must not be before since");
+        }
+    }
+
+    public static HistoryRange of(final Repository repository, final ObjectId start, final ObjectId checkpoint) {
+        Objects.requireNonNull(repository, "Repository must not be null");
+        try {
+            final ObjectId startId = start != null ? start : repository.resolve(Constants.HEAD);
+            return new HistoryRange(startId != null ? List.of(startId) : List.of(),
+                    checkpoint != null ? List.of(checkpoint) : List.of(), null, null);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while resolving HEAD of repository", e);
+        }
+    }
+
+    public RevFilter revFilter() {
+        if (since != null && until != null) {
+            return CommitTimeRevFilter.between(Date.from(since), Date.from(until));
+        }
+        if (since != null) {
+            return CommitTimeRevFilter.after(Date.from(since));
+        }
+        if (until != null) {
+            return CommitTimeRevFilter.before(Date.from(until));
+        }
+        return RevFilter.ALL;
+    }
+
+    boolean markOn(final RevWalk walk) throws IOException {
+        boolean started = false;
+        for (ObjectId start : starts) {
+            final RevCommit commit = parseCommitOrNull(walk, start);
+            if (commit != null) {
+                walk.markStart(commit);
+                started = true;
+            }
+        }
+        if (!started) {
+            return false;
+        }
+        for (ObjectId id : uninteresting) {
+            if (walk.getObjectReader().has(id)) {
+                final RevCommit commit = parseCommitOrNull(walk, id);
+                if (commit != null) {
+                    walk.markUninteresting(commit);
+                }
+            }
+        }
+        walk.setRevFilter(revFilter());
+        return true;
+    }
+
+    private static RevCommit parseCommitOrNull(final RevWalk walk, final ObjectId id) throws IOException {
+        try {
+            return walk.parseCommit(id);
+        } catch (IncorrectObjectTypeException e) {
+            return null;
+        }
+    }
+}
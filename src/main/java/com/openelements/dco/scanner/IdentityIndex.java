@@ -0,0 +1,146 @@
+package com.openelements.dco.scanner;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public final class IdentityIndex {
+
+    private final static IdentityIndex EMPTY = builder().build();
+
+    private final Set<String> emails;
+
+    private final Set<String> gitHubUsers;
+
+    private final DomainNode domains;
+
+    private IdentityIndex(final Set<String> emails, final Set<String> gitHubUsers, final DomainNode domains) {
+        this.emails = Set.copyOf(emails);
+        this.gitHubUsers = Set.copyOf(gitHubUsers);
+        this.domains = domains;
+    }
+
+    public boolean isInternal(final String email, final String gitHubIdentifier) {
+        Objects.requireNonNull(email, "Email must not be null");
+        final String normalizedEmail = normalize(email);
+        if (emails.contains(normalizedEmail)) {
+            return true;
+        }
+        if (matchesDomain(normalizedEmail)) {
+            return true;
+        }
+        return gitHubIdentifier != null && gitHubUsers.contains(normalize(gitHubIdentifier));
+    }
+
+    private boolean matchesDomain(final String normalizedEmail) {
+        final int at = normalizedEmail.lastIndexOf('@');
+        if (at < 0) {
+            return false;
+        }
+        DomainNode node = domains;
+        int end = normalizedEmail.length();
+        while (end > at + 1) {
+            final int dot = normalizedEmail.lastIndexOf('.', end - 1);
+            final int labelStart = Math.max(dot, at) + 1;
+            node = node.children().get(normalizedEmail.substring(labelStart, end));
+            if (node == null) {
+                return false;
+            }
+            if (labelStart == at + 1) {
+                return node.exact();
+            }
+            if (node.wildcard()) {
+                return true;
+            }
+            end = labelStart - 1;
+        }
+        return false;
+    }
+
+    private static String normalize(final String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static IdentityIndex empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private record DomainNode(Map<String, DomainNode> children, boolean exact, boolean wildcard) {
+    }
+
+    public static final class Builder {
+
+        private final Set<String> emails = new HashSet<>();
+
+        private final Set<String> gitHubUsers = new HashSet<>();
+
+        private final MutableDomainNode domains = new MutableDomainNode();
+
+        private Builder() {
+        }
+
+        public Builder addEmail(final String email) {
+            Objects.requireNonNull(email, "Email must not be null");
+            emails.add(normalize(email));
+            return this;
+        }
+
+        public Builder addGitHubUser(final String user) {
+            Objects.requireNonNull(user, "User must not be null");
+            gitHubUsers.add(normalize(user));
+            return this;
+        }
+
+        public Builder addDomain(final String domain) {
+            Objects.requireNonNull(domain, "Domain must not be null");
+            String normalized = normalize(domain);
+            if (normalized.startsWith("@")) {
+                normalized = normalized.substring(1);
+            }
+            final boolean wildcard = normalized.startsWith("*.");
+            if (wildcard) {
+                normalized = normalized.substring(2);
+            }
+            if (normalized.isBlank()) {
+                throw new IllegalArgumentException("Domain must not be blank");
+            }
+            final String[] labels = normalized.split("\\.");
+            MutableDomainNode node = domains;
+            for (int i = labels.length - 1; i >= 0; i--) {
+                node = node.children.computeIfAbsent(labels[i], label -> new MutableDomainNode());
+            }
+            if (wildcard) {
+                node.wildcard = true;
+            } else {
+                node.exact = true;
+            }
+            return this;
+        }
+
+        public IdentityIndex build() {
+            return new IdentityIndex(emails, gitHubUsers, domains.freeze());
+        }
+    }
+
+    private static final class MutableDomainNode {
+
+        private final Map<String, MutableDomainNode> children = new HashMap<>();
+
+        private boolean exact;
+
+        private boolean wildcard;
+
+        private DomainNode freeze() {
+            final Map<String, DomainNode> frozenChildren = new HashMap<>();
+            children.forEach((label, child) -> frozenChildren.put(label, child.freeze()));
+            return new DomainNode(Map.copyOf(frozenChildren), exact, wildcard);
+        }
+    }
+}
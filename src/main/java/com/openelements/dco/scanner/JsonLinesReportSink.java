@@ -0,0 +1,38 @@
+package com.openelements.dco.scanner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+public class JsonLinesReportSink implements ReportSink {
+
+    private final BufferedWriter writer;
+
+    public JsonLinesReportSink(final Path path) throws IOException {
+        Objects.requireNonNull(path, "Path must not be null");
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void accept(final String repositoryUrl, final List<OutputEntry> entries) throws IOException {
+        for (OutputEntry entry : entries) {
+            writer.write("{\"repository\": " + Json.quote(repositoryUrl)
+                    + ", \"commit\": " + Json.quote(entry.commitLink())
+                    + ", \"time\": " + Json.quote(entry.time().toString())
+                    + ", \"name\": " + Json.quote(entry.name())
+                    + ", \"email\": " + Json.quote(entry.email())
+                    + ", \"githubAccount\": " + Json.quote(entry.githubAccount()) + "}");
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
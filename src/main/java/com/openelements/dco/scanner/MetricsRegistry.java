@@ -0,0 +1,103 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+public class MetricsRegistry {
+
+    private final ConcurrentMap<String, RepositoryMetrics> repositories = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    private final long startNanos = System.nanoTime();
+
+    public RepositoryMetrics forRepository(final String repositoryUrl) {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        return repositories.computeIfAbsent(repositoryUrl, RepositoryMetrics::new);
+    }
+
+    public Collection<RepositoryMetrics> repositories() {
+        return repositories.values();
+    }
+
+    public void registerGauge(final String name, final LongSupplier gauge) {
+        Objects.requireNonNull(name, "Name must not be null");
+        Objects.requireNonNull(gauge, "Gauge must not be null");
+        gauges.put(name, gauge);
+    }
+
+    public Map<String, Long> gauges() {
+        final Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    public long total(final ToLongFunction<RepositoryMetrics> metric) {
+        return repositories.values().stream().mapToLong(metric).sum();
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public void writeJson(final Path path) throws IOException {
+        Objects.requireNonNull(path, "Path must not be null");
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("{\n  \"elapsedMillis\": " + elapsedNanos() / 1_000_000);
+            writer.write(",\n  \"totals\": " + toJson(null));
+            writer.write(",\n  \"gauges\": {");
+            String separator = "";
+            for (Map.Entry<String, Long> gauge : gauges().entrySet()) {
+                writer.write(separator + "\n    " + Json.quote(gauge.getKey()) + ": " + gauge.getValue());
+                separator = ",";
+            }
+            writer.write("\n  },\n  \"repositories\": [");
+            separator = "";
+            for (RepositoryMetrics metrics : repositories.values().stream()
+                    .sorted(Comparator.comparing(RepositoryMetrics::repositoryUrl)).toList()) {
+                writer.write(separator + "\n    " + toJson(metrics));
+                separator = ",";
+            }
+            writer.write("\n  ]\n}\n");
+        }
+    }
+
+    private String toJson(final RepositoryMetrics metrics) {
+        final StringBuilder json = new StringBuilder("{");
+        if (metrics != null) {
+            json.append("\"repository\": ").append(Json.quote(metrics.repositoryUrl())).append(", ");
+        }
+        json.append("\"fetchMillis\": ").append(value(metrics, RepositoryMetrics::fetchNanos) / 1_000_000)
+                .append(", \"fetchedBytes\": ").append(value(metrics, RepositoryMetrics::fetchedBytes))
+                .append(", \"analysisMillis\": ").append(value(metrics, RepositoryMetrics::analysisNanos) / 1_000_000)
+                .append(", \"commitsWalked\": ").append(value(metrics, RepositoryMetrics::commitsWalked))
+                .append(", \"commitsParsed\": ").append(value(metrics, RepositoryMetrics::commitsParsed))
+                .append(", \"parseMillis\": ").append(value(metrics, RepositoryMetrics::parseNanos) / 1_000_000)
+                .append(", \"commitsCached\": ").append(value(metrics, RepositoryMetrics::commitsCached))
+                .append(", \"violations\": ").append(value(metrics, RepositoryMetrics::violations));
+        final long analysisNanos = value(metrics, RepositoryMetrics::analysisNanos);
+        final long commitsPerSecond = analysisNanos == 0 ? 0
+                : value(metrics, RepositoryMetrics::commitsWalked) * 1_000_000_000L / analysisNanos;
+        json.append(", \"commitsPerSecond\": ").append(commitsPerSecond);
+        return json.append('}').toString();
+    }
+
+    private long value(final RepositoryMetrics metrics, final ToLongFunction<RepositoryMetrics> metric) {
+        return metrics == null ? total(metric) : metric.applyAsLong(metrics);
+    }
+}
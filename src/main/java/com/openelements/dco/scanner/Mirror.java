@@ -0,0 +1,58 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import org.eclipse.jgit.api.Git;
+
+public final class Mirror implements AutoCloseable {
+
+    private final String repositoryUrl;
+
+    private final Git git;
+
+    private final Lock processLock;
+
+    private final FileChannel lockChannel;
+
+    private final FileLock fileLock;
+
+    private final long transferredBytes;
+
+    Mirror(final String repositoryUrl, final Git git, final Lock processLock, final FileChannel lockChannel,
+            final FileLock fileLock, final long transferredBytes) {
+        this.repositoryUrl = Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        this.git = Objects.requireNonNull(git, "Git must not be null");
+        this.processLock = Objects.requireNonNull(processLock, "Process lock must not be null");
+        this.lockChannel = Objects.requireNonNull(lockChannel, "Lock channel must not be null");
+        this.fileLock = Objects.requireNonNull(fileLock, "File lock must not be null");
+        this.transferredBytes = transferredBytes;
+    }
+
+    public String repositoryUrl() {
+        return repositoryUrl;
+    }
+
+    public Git git() {
+        return git;
+    }
+
+    public long transferredBytes() {
+        return transferredBytes;
+    }
+
+    @Override
+    public void close() {
+        try {
+            git.close();
+            fileLock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while releasing mirror of '" + repositoryUrl + "'", e);
+        } finally {
+            processLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.eclipse.jgit.api.CloneCommand;
+import org.eclipse.jgit.api.FetchCommand;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.transport.FetchResult;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.TagOpt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class MirrorCache implements AutoCloseable {
+
+    private final static Logger log = LoggerFactory.getLogger(MirrorCache.class);
+
+    private final static String MIRROR_SUFFIX = ".git";
+
+    private final static String LOCK_SUFFIX = ".lock";
+
+    private final static String SHALLOW_FILE = "shallow";
+
+    private final Path root;
+
+    private final long maxBytes;
+
+    private final boolean retainRepositories;
+
+    private final FetchPool fetchPool;
+
+    private final ConcurrentMap<String, ReentrantLock> processLocks = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Repository> openRepositories = new ConcurrentHashMap<>();
+
+    public MirrorCache(final Path root, final long maxBytes) {
+        this(root, maxBytes, false);
+    }
+
+    public MirrorCache(final Path root, final long maxBytes, final boolean retainRepositories) {
+        this(root, maxBytes, retainRepositories, FetchPool.defaults());
+    }
+
+    public MirrorCache(final Path root, final long maxBytes, final boolean retainRepositories,
+            final FetchPool fetchPool) {
+        this.root = Objects.requireNonNull(root, "Root must not be null");
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Max bytes must not be negative");
+        }
+        this.maxBytes = maxBytes;
+        this.retainRepositories = retainRepositories;
+        this.fetchPool = Objects.requireNonNull(fetchPool, "Fetch pool must not be null");
+    }
+
+    public FetchPool fetchPool() {
+        return fetchPool;
+    }
+
+    public Mirror acquire(final String repositoryUrl) {
+        return acquire(repositoryUrl, ScanScope.head());
+    }
+
+    public Mirror acquire(final String repositoryUrl, final ScanScope scope) {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        Objects.requireNonNull(scope, "Scope must not be null");
+        if (repositoryUrl.isBlank()) {
+            throw new IllegalArgumentException("Repository URL must not be blank");
+        }
+        final String key = keyFor(repositoryUrl);
+        final ReentrantLock processLock = processLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        processLock.lock();
+        FileChannel lockChannel = null;
+        try {
+            Files.createDirectories(root);
+            lockChannel = FileChannel.open(root.resolve(key + LOCK_SUFFIX), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+            final FileLock fileLock = lockChannel.lock();
+            final Path directory = root.resolve(key + MIRROR_SUFFIX);
+            final Path objects = directory.resolve("objects");
+            final long sizeBefore = Files.isDirectory(objects) ? sizeOf(objects) : 0;
+            final Git git = update(repositoryUrl, key, directory, scope);
+            final long transferredBytes = Math.max(0, sizeOf(objects) - sizeBefore);
+            Files.setLastModifiedTime(root.resolve(key + LOCK_SUFFIX), FileTime.from(Instant.now()));
+            return new Mirror(repositoryUrl, git, processLock, lockChannel, fileLock, transferredBytes);
+        } catch (Exception e) {
+            closeQuietly(lockChannel);
+            processLock.unlock();
+            throw new RuntimeException("Error while updating mirror of '" + repositoryUrl + "'", e);
+        }
+    }
+
+    private Git update(final String repositoryUrl, final String key, final Path directory, final ScanScope scope)
+            throws Exception {
+        final List<RefSpec> refSpecs = scope.refSpecs();
+        if (scope.shallowSince() == null && Files.exists(directory.resolve(SHALLOW_FILE))) {
+            log.info("Replacing shallow mirror {} of repository {} with a complete clone", directory, repositoryUrl);
+            final Repository repository = openRepositories.remove(key);
+            if (repository != null) {
+                repository.close();
+            }
+            delete(directory);
+        }
+        if (Files.isDirectory(directory)) {
+            log.debug("Fetching repository {} into mirror {}", repositoryUrl, directory);
+            final Git git = open(key, directory);
+            try {
+                fetch(repositoryUrl, git, refSpecs, scope.shallowSince());
+                return git;
+            } catch (Exception e) {
+                git.close();
+                throw e;
+            }
+        }
+        log.debug("Cloning repository {} into mirror {}", repositoryUrl, directory);
+        final Path tempDirectory = Files.createTempDirectory(root, "clone");
+        try {
+            if (refSpecs.isEmpty()) {
+                final CloneCommand clone = Git.cloneRepository()
+                        .setURI(repositoryUrl)
+                        .setDirectory(tempDirectory.toFile())
+                        .setBare(true)
+                        .setNoCheckout(true);
+                if (scope.shallowSince() != null) {
+                    clone.setShallowSince(scope.shallowSince());
+                }
+                fetchPool.fetch(repositoryUrl, transportConfig -> {
+                    clone.setTransportConfigCallback(transportConfig).call().close();
+                    return null;
+                });
+            } else {
+                try (Git git = Git.init().setBare(true).setDirectory(tempDirectory.toFile()).call()) {
+                    final StoredConfig config = git.getRepository().getConfig();
+                    config.setString(ConfigConstants.CONFIG_REMOTE_SECTION, Constants.DEFAULT_REMOTE_NAME,
+                            ConfigConstants.CONFIG_KEY_URL, repositoryUrl);
+                    config.setString(ConfigConstants.CONFIG_REMOTE_SECTION, Constants.DEFAULT_REMOTE_NAME,
+                            ConfigConstants.CONFIG_FETCH_SECTION,
+                            "+" + Constants.R_HEADS + "*:" + Constants.R_HEADS + "*");
+                    config.save();
+                    fetch(repositoryUrl, git, refSpecs, scope.shallowSince());
+                }
+            }
+        } catch (Exception e) {
+            delete(tempDirectory);
+            throw e;
+        }
+        Files.move(tempDirectory, directory);
+        return open(key, directory);
+    }
+
+    private void fetch(final String repositoryUrl, final Git git, final List<RefSpec> refSpecs,
+            final Instant shallowSince) throws Exception {
+        final FetchCommand fetch = git.fetch()
+                .setRemoveDeletedRefs(true)
+                .setTagOpt(refSpecs.isEmpty() ? TagOpt.FETCH_TAGS : TagOpt.NO_TAGS);
+        if (!refSpecs.isEmpty()) {
+            fetch.setRefSpecs(refSpecs);
+        }
+        if (shallowSince != null) {
+            fetch.setShallowSince(shallowSince);
+        }
+        final FetchResult result = fetchPool.fetch(repositoryUrl,
+                transportConfig -> fetch.setTransportConfigCallback(transportConfig).call());
+        if (refSpecs.isEmpty()) {
+            updateHead(git, result);
+        }
+    }
+
+    private static void updateHead(final Git git, final FetchResult result) throws IOException {
+        final Ref remoteHead = result.getAdvertisedRef(Constants.HEAD);
+        if (remoteHead == null || !remoteHead.isSymbolic()) {
+            return;
+        }
+        final String target = remoteHead.getTarget().getName();
+        final Ref localHead = git.getRepository().exactRef(Constants.HEAD);
+        if (localHead != null && localHead.isSymbolic() && target.equals(localHead.getTarget().getName())) {
+            return;
+        }
+        log.debug("Pointing HEAD of mirror {} to {}", git.getRepository().getDirectory(), target);
+        git.getRepository().updateRef(Constants.HEAD).link(target);
+    }
+
+    private Git open(final String key, final Path directory) throws IOException {
+        if (!retainRepositories) {
+            return Git.open(directory.toFile());
+        }
+        Repository repository = openRepositories.get(key);
+        if (repository == null) {
+            repository = Git.open(directory.toFile()).getRepository();
+            openRepositories.put(key, repository);
+        }
+        return Git.wrap(repository);
+    }
+
+    @Override
+    public void close() {
+        openRepositories.values().forEach(Repository::close);
+        openRepositories.clear();
+    }
+
+    public void evict() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        final List<Path> mirrors;
+        try (Stream<Path> stream = Files.list(root)) {
+            mirrors = stream
+                    .filter(path -> path.getFileName().toString().endsWith(MIRROR_SUFFIX))
+                    .sorted(Comparator.comparing(this::lastUsed))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while listing mirrors in " + root, e);
+        }
+        long totalBytes = mirrors.stream().mapToLong(MirrorCache::sizeOf).sum();
+        log.debug("Mirror cache {} uses {} of {} bytes", root, totalBytes, maxBytes);
+        for (Path mirror : mirrors) {
+            if (totalBytes <= maxBytes) {
+                return;
+            }
+            final long size = sizeOf(mirror);
+            if (tryDelete(mirror)) {
+                totalBytes -= size;
+            }
+        }
+    }
+
+    private boolean tryDelete(final Path mirror) {
+        final String fileName = mirror.getFileName().toString();
+        final String key = fileName.substring(0, fileName.length() - MIRROR_SUFFIX.length());
+        final ReentrantLock processLock = processLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        if (processLock.isHeldByCurrentThread() || !processLock.tryLock()) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(root.resolve(key + LOCK_SUFFIX), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+                FileLock fileLock = channel.tryLock()) {
+            if (fileLock == null) {
+                return false;
+            }
+            log.info("Evicting mirror {}", mirror);
+            final Repository repository = openRepositories.remove(key);
+            if (repository != null) {
+                repository.close();
+            }
+            delete(mirror);
+            return true;
+        } catch (IOException | OverlappingFileLockException e) {
+            log.warn("Unable to evict mirror {}", mirror, e);
+            return false;
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    private FileTime lastUsed(final Path mirror) {
+        final String fileName = mirror.getFileName().toString();
+        final Path lockFile = root.resolve(
+                fileName.substring(0, fileName.length() - MIRROR_SUFFIX.length()) + LOCK_SUFFIX);
+        try {
+            return Files.getLastModifiedTime(Files.exists(lockFile) ? lockFile : mirror);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long sizeOf(final Path directory) {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            return stream.filter(Files::isRegularFile)
+                    .mapToLong(path -> path.toFile().length())
+                    .sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void delete(final Path directory) throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Unable to close lock channel", e);
+            }
+        }
+    }
+
+    private static String keyFor(final String repositoryUrl) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] hash = digest.digest(repositoryUrl.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.openelements.dco.scanner;
+
+import java.util.Objects;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public record ObjectAccessSettings(long packedGitLimit, int packedGitWindowSize, boolean packedGitMmap,
+                                   int deltaBaseCacheLimit, int packedGitOpenFiles, boolean commitGraph,
+                                   HistoryOrder historyOrder) {
+
+    private final static Logger log = LoggerFactory.getLogger(ObjectAccessSettings.class);
+
+    public final static long DEFAULT_PACKED_GIT_LIMIT = 512L * WindowCacheConfig.MB;
+
+    public final static int DEFAULT_PACKED_GIT_WINDOW_SIZE = 64 * WindowCacheConfig.KB;
+
+    public final static int DEFAULT_DELTA_BASE_CACHE_LIMIT = 64 * WindowCacheConfig.MB;
+
+    public final static int DEFAULT_PACKED_GIT_OPEN_FILES = 256;
+
+    public ObjectAccessSettings {
+        if (packedGitWindowSize < 4 * WindowCacheConfig.KB || Integer.bitCount(packedGitWindowSize) != 1) {
+            throw new IllegalArgumentException("Packed git window size must be a power of 2 and at least 4 KiB");
+        }
+        if (packedGitLimit < packedGitWindowSize) {
+            throw new IllegalArgumentException("Packed git limit must not be smaller than the window size");
+        }
+        if (deltaBaseCacheLimit < 0) {
+            throw new IllegalArgumentException("Delta base cache limit must not be negative");
+        }
+        if (packedGitOpenFiles < 1) {
+            throw new IllegalArgumentException("Packed git open files must be at least 1");
+        }
+        Objects.requireNonNull(historyOrder, "History order must not be null");
+    }
+
+    public static ObjectAccessSettings defaults() {
+        return new ObjectAccessSettings(DEFAULT_PACKED_GIT_LIMIT, DEFAULT_PACKED_GIT_WINDOW_SIZE, false,
+                DEFAULT_DELTA_BASE_CACHE_LIMIT, DEFAULT_PACKED_GIT_OPEN_FILES, true, HistoryOrder.NONE);
+    }
+
+    public void install() {
+        final WindowCacheConfig config = new WindowCacheConfig();
+        config.setPackedGitLimit(packedGitLimit);
+        config.setPackedGitWindowSize(packedGitWindowSize);
+        config.setPackedGitMMAP(packedGitMmap);
+        config.setDeltaBaseCacheLimit(deltaBaseCacheLimit);
+        config.setPackedGitOpenFiles(packedGitOpenFiles);
+        config.install();
+        log.info("Installed JGit window cache with {}", this);
+    }
+
+    void configure(final Repository repository) {
+        final StoredConfig config = repository.getConfig();
+        if (config.getBoolean(ConfigConstants.CONFIG_CORE_SECTION, ConfigConstants.CONFIG_COMMIT_GRAPH, false)
+                != commitGraph) {
+            config.setBoolean(ConfigConstants.CONFIG_CORE_SECTION, null, ConfigConstants.CONFIG_COMMIT_GRAPH,
+                    commitGraph);
+        }
+    }
+
+    void configure(final RevWalk walk) {
+        walk.sort(historyOrder.revSort());
+    }
+}
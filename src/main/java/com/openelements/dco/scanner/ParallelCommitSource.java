@@ -0,0 +1,197 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ParallelCommitSource implements CommitSource {
+
+    private final static Logger log = LoggerFactory.getLogger(ParallelCommitSource.class);
+
+    private final ExecutorService executor;
+
+    private final int batchSize;
+
+    private final int maxBatchesInFlight;
+
+    public ParallelCommitSource(final ExecutorService executor, final int parallelism, final int batchSize) {
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+        this.maxBatchesInFlight = parallelism * 2;
+    }
+
+    @Override
+    public Stream<Commit> streamNonValidIn(final Git git, final HistoryRange range, final RepositoryMetrics metrics) {
+        Objects.requireNonNull(git, "Git must not be null");
+        Objects.requireNonNull(range, "Range must not be null");
+        Objects.requireNonNull(metrics, "Metrics must not be null");
+        final Repository repository = git.getRepository();
+        log.debug("Scanning commits for {} in batches of {}", repository.getDirectory(), batchSize);
+        final ObjectAccessSettings settings = CommitFactory.objectAccess();
+        settings.configure(repository);
+        final RevWalk walk = new RevWalk(repository);
+        settings.configure(walk);
+        walk.setRetainBody(false);
+        try {
+            if (!range.markOn(walk)) {
+                walk.close();
+                return Stream.empty();
+            }
+        } catch (Exception e) {
+            walk.close();
+            throw new RuntimeException("Error while scanning commits of repository", e);
+        }
+        final BatchIterator iterator = new BatchIterator(repository, walk, metrics);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    private final class BatchIterator implements Iterator<Commit> {
+
+        private final Repository repository;
+
+        private final RevWalk walk;
+
+        private final RepositoryMetrics metrics;
+
+        private final Iterator<RevCommit> commits;
+
+        private final Deque<Future<List<Commit>>> batches;
+
+        private final Queue<RevWalk> batchWalks;
+
+        private Iterator<Commit> current;
+
+        private volatile boolean closed;
+
+        private BatchIterator(final Repository repository, final RevWalk walk, final RepositoryMetrics metrics) {
+            this.repository = repository;
+            this.walk = walk;
+            this.metrics = metrics;
+            this.commits = walk.iterator();
+            this.batches = new ArrayDeque<>();
+            this.batchWalks = new ConcurrentLinkedQueue<>();
+            this.current = Collections.emptyIterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                fill();
+                if (batches.isEmpty()) {
+                    return false;
+                }
+                current = await(batches.removeFirst()).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Commit next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Cancellation.throwIfInterrupted();
+            return current.next();
+        }
+
+        private void fill() {
+            while (batches.size() < maxBatchesInFlight && commits.hasNext()) {
+                final List<ObjectId> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && commits.hasNext()) {
+                    Cancellation.throwIfInterrupted();
+                    batch.add(commits.next().copy());
+                }
+                batches.addLast(executor.submit(() -> analyzeBatch(batch)));
+            }
+        }
+
+        private List<Commit> analyzeBatch(final List<ObjectId> batch) {
+            final List<Commit> nonValidCommits = new ArrayList<>();
+            final RevWalk pooledWalk = batchWalks.poll();
+            final RevWalk batchWalk = pooledWalk != null ? pooledWalk : new RevWalk(repository);
+            boolean reusable = false;
+            try {
+                for (ObjectId id : batch) {
+                    if (closed) {
+                        throw new CancellationException("Commit walk was closed");
+                    }
+                    Cancellation.throwIfInterrupted();
+                    final Commit commit = CommitFactory.nonValidOrNull(batchWalk, id, metrics);
+                    if (commit != null) {
+                        nonValidCommits.add(commit);
+                    }
+                }
+                reusable = true;
+            } catch (IOException e) {
+                throw new RuntimeException("Error while reading commits of repository", e);
+            } finally {
+                if (reusable) {
+                    batchWalk.dispose();
+                    batchWalks.add(batchWalk);
+                    if (closed) {
+                        closeBatchWalks();
+                    }
+                } else {
+                    batchWalk.close();
+                }
+            }
+            return nonValidCommits;
+        }
+
+        private List<Commit> await(final Future<List<Commit>> batch) {
+            try {
+                return batch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while analyzing commits", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Error while analyzing commits", e.getCause());
+            }
+        }
+
+        private void close() {
+            closed = true;
+            batches.forEach(batch -> batch.cancel(true));
+            batches.clear();
+            walk.close();
+            closeBatchWalks();
+        }
+
+        private void closeBatchWalks() {
+            RevWalk batchWalk;
+            while ((batchWalk = batchWalks.poll()) != null) {
+                batchWalk.close();
+            }
+        }
+    }
+}
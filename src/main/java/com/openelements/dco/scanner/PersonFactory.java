@@ -1,67 +1,149 @@
 package com.openelements.dco.scanner;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 public class PersonFactory {
 
     private final static PersonFactory INSTANCE = new PersonFactory();
 
-    private final List<String> internalEmails;
+    private final static int MAX_CACHED_PERSONS = 65_536;
 
-    private final List<String> internalDomains;
+    private final static int CACHE_SEGMENTS = 16;
 
-    private final List<String> internalGithubUsers;
+    private final IdentityIndex.Builder indexBuilder;
+
+    private volatile Generation generation;
+
+    private final LongAdder cacheHits;
+
+    private final LongAdder cacheMisses;
 
     private PersonFactory() {
-        internalEmails = new ArrayList<>();
-        internalDomains = new ArrayList<>();
-        internalGithubUsers = new ArrayList<>();
+        indexBuilder = IdentityIndex.builder();
+        generation = new Generation(IdentityIndex.empty());
+        cacheHits = new LongAdder();
+        cacheMisses = new LongAdder();
     }
 
-    public void addInternalEmail(String email) {
-        internalEmails.add(email);
+    public synchronized void addInternalEmail(String email) {
+        indexBuilder.addEmail(email);
+        generation = null;
     }
 
-    public void addInternalDomain(String domain) {
-        internalDomains.add(domain);
+    public synchronized void addInternalDomain(String domain) {
+        indexBuilder.addDomain(domain);
+        generation = null;
     }
 
-    public void addInternalGitHubUser(String user) {
-        internalGithubUsers.add(user);
+    public synchronized void addInternalGitHubUser(String user) {
+        indexBuilder.addGitHubUser(user);
+        generation = null;
+    }
+
+    private Generation generation() {
+        final Generation current = generation;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (generation == null) {
+                generation = new Generation(indexBuilder.build());
+            }
+            return generation;
+        }
     }
 
     public Person create(String name, String email, Set<Role> roles) {
-        final String gitHubIdentifier;
+        final Generation current = generation();
+        final PersonKey key = new PersonKey(name, email, Roles.mask(roles));
+        final Map<PersonKey, Person> segment = current.segmentFor(key);
+        synchronized (segment) {
+            final Person cached = segment.get(key);
+            if (cached != null) {
+                cacheHits.increment();
+                return cached;
+            }
+        }
+        cacheMisses.increment();
+        final String gitHubIdentifier = gitHubIdentifierOf(email);
+        final boolean internal = current.index().isInternal(email, gitHubIdentifier);
+        final Person person = new Person(name, email, gitHubIdentifier, Roles.fromMask(key.roles()), internal);
+        synchronized (segment) {
+            final Person existing = segment.putIfAbsent(key, person);
+            return existing != null ? existing : person;
+        }
+    }
+
+    public CacheStatistics cacheStatistics() {
+        return new CacheStatistics(cacheHits.sum(), cacheMisses.sum(), generation().size());
+    }
+
+    public boolean isInternal(String email) {
+        return isInternal(email, gitHubIdentifierOf(email));
+    }
+
+    private String gitHubIdentifierOf(String email) {
         if (email.endsWith("@users.noreply.github.com")) {
             final String identifier = email.substring(0, email.indexOf("@users.noreply.github.com"));
             if (identifier.contains("+")) {
-                gitHubIdentifier = identifier.substring(identifier.indexOf('+') + 1);
+                return identifier.substring(identifier.indexOf('+') + 1);
             } else {
-                gitHubIdentifier = identifier;
+                return identifier;
             }
         } else {
-            gitHubIdentifier = null;
+            return null;
         }
-        final boolean internal = isInternal(email, gitHubIdentifier);
-        return new Person(name, email, gitHubIdentifier, roles, internal);
     }
 
     private boolean isInternal(String email, String gitHubIdentifier) {
-        if (internalEmails.contains(email)) {
-            return true;
-        }
-        if (internalDomains.stream().anyMatch(domain -> email.endsWith("@" + domain))) {
-            return true;
-        }
-        if (gitHubIdentifier != null && internalGithubUsers.contains(gitHubIdentifier)) {
-            return true;
-        }
-        return false;
+        return generation().index().isInternal(email, gitHubIdentifier);
     }
 
     public static PersonFactory getInstance() {
         return INSTANCE;
     }
+
+    private record PersonKey(String name, String email, int roles) {
+    }
+
+    private record Generation(IdentityIndex index, List<Map<PersonKey, Person>> segments) {
+
+        private Generation(final IdentityIndex index) {
+            this(index, createSegments());
+        }
+
+        private static List<Map<PersonKey, Person>> createSegments() {
+            final int maxSegmentSize = MAX_CACHED_PERSONS / CACHE_SEGMENTS;
+            final List<Map<PersonKey, Person>> segments = new ArrayList<>(CACHE_SEGMENTS);
+            for (int i = 0; i < CACHE_SEGMENTS; i++) {
+                segments.add(new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<PersonKey, Person> eldest) {
+                        return size() > maxSegmentSize;
+                    }
+                });
+            }
+            return List.copyOf(segments);
+        }
+
+        private Map<PersonKey, Person> segmentFor(final PersonKey key) {
+            final int hash = key.hashCode();
+            return segments.get((hash ^ (hash >>> 16)) & (CACHE_SEGMENTS - 1));
+        }
+
+        private long size() {
+            long size = 0;
+            for (Map<PersonKey, Person> segment : segments) {
+                synchronized (segment) {
+                    size += segment.size();
+                }
+            }
+            return size;
+        }
+    }
 }
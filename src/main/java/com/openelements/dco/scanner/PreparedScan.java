@@ -0,0 +1,29 @@
+package com.openelements.dco.scanner;
+
+import java.util.Objects;
+import java.util.Optional;
+
+public record PreparedScan(String repositoryUrl, Optional<Checkpoint> checkpoint, Mirror mirror)
+        implements AutoCloseable {
+
+    public PreparedScan {
+        if (repositoryUrl == null || repositoryUrl.isBlank()) {
+            throw new IllegalArgumentException("Repository URL must not be null or empty");
+        }
+        Objects.requireNonNull(checkpoint, "Checkpoint must not be null");
+        if (mirror == null && checkpoint.isEmpty()) {
+            throw new IllegalArgumentException("Either a mirror or a checkpoint must be provided");
+        }
+    }
+
+    public boolean isUnchanged() {
+        return mirror == null;
+    }
+
+    @Override
+    public void close() {
+        if (mirror != null) {
+            mirror.close();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface ReportSink extends AutoCloseable {
+
+    void accept(String repositoryUrl, List<OutputEntry> entries) throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
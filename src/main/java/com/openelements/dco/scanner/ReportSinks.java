@@ -0,0 +1,77 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+public final class ReportSinks {
+
+    public final static String CSV = "csv";
+
+    public final static String TEXT = "txt";
+
+    public final static String JSON_LINES = "jsonl";
+
+    public final static String SARIF = "sarif";
+
+    private ReportSinks() {
+    }
+
+    public static ReportSink create(final Path outputDirectory, final Set<String> formats) throws IOException {
+        Objects.requireNonNull(outputDirectory, "Output directory must not be null");
+        Objects.requireNonNull(formats, "Formats must not be null");
+        Files.createDirectories(outputDirectory);
+        final List<ReportSink> sinks = new ArrayList<>();
+        try {
+            for (String format : formats) {
+                final Path path = outputDirectory.resolve("all." + format);
+                sinks.add(switch (format) {
+                    case CSV -> new CsvReportSink(path);
+                    case TEXT -> new TextReportSink(path);
+                    case JSON_LINES -> new JsonLinesReportSink(path);
+                    case SARIF -> new SarifReportSink(path);
+                    default -> throw new IllegalArgumentException("Unsupported report format '" + format + "'");
+                });
+            }
+        } catch (IOException | RuntimeException e) {
+            for (ReportSink sink : sinks) {
+                sink.close();
+            }
+            throw e;
+        }
+        return new CompositeReportSink(List.copyOf(sinks));
+    }
+
+    private record CompositeReportSink(List<ReportSink> sinks) implements ReportSink {
+
+        @Override
+        public void accept(final String repositoryUrl, final List<OutputEntry> entries) throws IOException {
+            for (ReportSink sink : sinks) {
+                sink.accept(repositoryUrl, entries);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (ReportSink sink : sinks) {
+                try {
+                    sink.close();
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.openelements.dco.scanner;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.TransportConfigCallback;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,31 +28,111 @@ public class RepositoryFactory {
 
     }
 
-    public static Git checkout(final String repositoryUrl) {
+    public static Mirror checkout(final MirrorCache mirrorCache, final String repositoryUrl) {
+        return checkout(mirrorCache, repositoryUrl, ScanScope.head());
+    }
+
+    public static Mirror checkout(final MirrorCache mirrorCache, final String repositoryUrl,
+            final ScanScope scope) {
+        Objects.requireNonNull(mirrorCache, "Mirror cache must not be null");
+        Objects.requireNonNull(scope, "Scope must not be null");
         Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
         if (repositoryUrl.isBlank()) {
             throw new IllegalArgumentException("Repository URL must not be blank");
         }
-        final Path tempDirectory = createTempDirectory();
-        log.debug("Cloning repository {} to {}", repositoryUrl, tempDirectory);
+        log.debug("Checking out repository {}", repositoryUrl);
+        return mirrorCache.acquire(repositoryUrl, scope);
+    }
+
+    public static Optional<ObjectId> resolveRemote(final String repositoryUrl, final String ref) {
+        Objects.requireNonNull(ref, "Ref must not be null");
+        return Optional.ofNullable(listRemote(repositoryUrl).get(ref));
+    }
+
+    public static Map<String, ObjectId> listRemote(final String repositoryUrl) {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
         try {
-            final Git git = Git.cloneRepository()
-                    .setURI(repositoryUrl)
-                    .setDirectory(tempDirectory.toFile())
-                    .call();
-            return git;
+            return lsRemote(repositoryUrl, transport -> { });
         } catch (Exception e) {
-            throw new RuntimeException("Error while checking out repository '" + repositoryUrl + "'", e);
+            throw new RuntimeException("Error while listing refs of repository '" + repositoryUrl + "'", e);
         }
     }
 
-    private static Path createTempDirectory() {
+    public static Map<String, ObjectId> listRemote(final FetchPool fetchPool, final String repositoryUrl) {
+        Objects.requireNonNull(fetchPool, "Fetch pool must not be null");
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
         try {
-            Path tempDir = Files.createTempDirectory("dco-scanner");
-            tempDir.toFile().deleteOnExit();
-            return tempDir;
+            return fetchPool.listRemote(repositoryUrl, transportConfig -> lsRemote(repositoryUrl, transportConfig));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while listing refs of repository '" + repositoryUrl + "'", e);
+        } catch (Exception e) {
+            throw new RuntimeException("Error while listing refs of repository '" + repositoryUrl + "'", e);
+        }
+    }
+
+    private static Map<String, ObjectId> lsRemote(final String repositoryUrl,
+            final TransportConfigCallback transportConfig) throws GitAPIException {
+        log.debug("Listing refs of repository {}", repositoryUrl);
+        final Map<String, ObjectId> refs = new HashMap<>();
+        for (Ref ref : Git.lsRemoteRepository().setRemote(repositoryUrl)
+                .setTransportConfigCallback(transportConfig).callAsMap().values()) {
+            if (ref.getObjectId() != null) {
+                refs.put(ref.getName(), ref.getObjectId());
+            }
+        }
+        return refs;
+    }
+
+    public static boolean isAncestor(final Git git, final ObjectId ancestor, final ObjectId tip) {
+        Objects.requireNonNull(ancestor, "Ancestor must not be null");
+        Objects.requireNonNull(tip, "Tip must not be null");
+        return isReachable(git, List.of(ancestor), List.of(tip));
+    }
+
+    public static boolean isReachable(final Git git, final Collection<ObjectId> ancestors,
+            final Collection<ObjectId> tips) {
+        Objects.requireNonNull(git, "Git must not be null");
+        Objects.requireNonNull(ancestors, "Ancestors must not be null");
+        Objects.requireNonNull(tips, "Tips must not be null");
+        try (RevWalk walk = new RevWalk(git.getRepository())) {
+            final List<RevCommit> tipCommits = new ArrayList<>(tips.size());
+            for (ObjectId tip : tips) {
+                final RevCommit tipCommit = parseCommitOrNull(walk, tip);
+                if (tipCommit != null) {
+                    tipCommits.add(tipCommit);
+                }
+            }
+            for (ObjectId ancestor : ancestors) {
+                if (!git.getRepository().getObjectDatabase().has(ancestor)) {
+                    return false;
+                }
+                final RevCommit ancestorCommit = parseCommitOrNull(walk, ancestor);
+                if (ancestorCommit == null) {
+                    continue;
+                }
+                boolean reachable = false;
+                for (RevCommit tipCommit : tipCommits) {
+                    if (tipCommit.equals(ancestorCommit) || walk.isMergedInto(ancestorCommit, tipCommit)) {
+                        reachable = true;
+                        break;
+                    }
+                }
+                if (!reachable) {
+                    return false;
+                }
+            }
+            return true;
         } catch (IOException e) {
-            throw new RuntimeException("Unable to create Temp repository", e);
+            throw new RuntimeException("Error while checking ancestry of " + ancestors, e);
+        }
+    }
+
+    private static RevCommit parseCommitOrNull(final RevWalk walk, final ObjectId id) throws IOException {
+        try {
+            return walk.parseCommit(id);
+        } catch (IncorrectObjectTypeException e) {
+            return null;
         }
     }
 }
@@ -0,0 +1,100 @@
+package com.openelements.dco.scanner;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class RepositoryMetrics {
+
+    private final String repositoryUrl;
+
+    private final LongAdder fetchNanos = new LongAdder();
+
+    private final LongAdder fetchedBytes = new LongAdder();
+
+    private final LongAdder analysisNanos = new LongAdder();
+
+    private final LongAdder commitsWalked = new LongAdder();
+
+    private final LongAdder commitsParsed = new LongAdder();
+
+    private final LongAdder parseNanos = new LongAdder();
+
+    private final LongAdder commitsCached = new LongAdder();
+
+    private final LongAdder violations = new LongAdder();
+
+    RepositoryMetrics(final String repositoryUrl) {
+        this.repositoryUrl = Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+    }
+
+    public static RepositoryMetrics discarding() {
+        return new RepositoryMetrics("");
+    }
+
+    public String repositoryUrl() {
+        return repositoryUrl;
+    }
+
+    public void recordFetch(final long nanos, final long bytes) {
+        fetchNanos.add(nanos);
+        fetchedBytes.add(bytes);
+    }
+
+    public void recordAnalysis(final long nanos) {
+        analysisNanos.add(nanos);
+    }
+
+    public void recordCommitWalked() {
+        commitsWalked.increment();
+    }
+
+    public void recordCommitParsed(final long nanos) {
+        commitsParsed.increment();
+        parseNanos.add(nanos);
+    }
+
+    public void recordCommitCached() {
+        commitsCached.increment();
+    }
+
+    public void recordViolations(final long count) {
+        violations.add(count);
+    }
+
+    public long fetchNanos() {
+        return fetchNanos.sum();
+    }
+
+    public long fetchedBytes() {
+        return fetchedBytes.sum();
+    }
+
+    public long analysisNanos() {
+        return analysisNanos.sum();
+    }
+
+    public long commitsWalked() {
+        return commitsWalked.sum();
+    }
+
+    public long commitsParsed() {
+        return commitsParsed.sum();
+    }
+
+    public long parseNanos() {
+        return parseNanos.sum();
+    }
+
+    public long commitsCached() {
+        return commitsCached.sum();
+    }
+
+    public long violations() {
+        return violations.sum();
+    }
+
+    public double commitsPerSecond() {
+        final long nanos = analysisNanos();
+        return nanos == 0 ? 0.0 : commitsWalked() * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,205 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class RepositoryScanner {
+
+    private final static Logger log = LoggerFactory.getLogger(RepositoryScanner.class);
+
+    private final CheckpointStore checkpointStore;
+
+    private final MirrorCache mirrorCache;
+
+    private final CommitSource commitSource;
+
+    private final MetricsRegistry metricsRegistry;
+
+    private final ScanScope scope;
+
+    public RepositoryScanner(final CheckpointStore checkpointStore, final MirrorCache mirrorCache) {
+        this(checkpointStore, mirrorCache, CommitFactory::streamNonValidIn, new MetricsRegistry());
+    }
+
+    public RepositoryScanner(final CheckpointStore checkpointStore, final MirrorCache mirrorCache,
+            final CommitSource commitSource, final MetricsRegistry metricsRegistry) {
+        this(checkpointStore, mirrorCache, commitSource, metricsRegistry, ScanScope.head());
+    }
+
+    public RepositoryScanner(final CheckpointStore checkpointStore, final MirrorCache mirrorCache,
+            final CommitSource commitSource, final MetricsRegistry metricsRegistry, final ScanScope scope) {
+        this.checkpointStore = Objects.requireNonNull(checkpointStore, "Checkpoint store must not be null");
+        this.mirrorCache = Objects.requireNonNull(mirrorCache, "Mirror cache must not be null");
+        this.commitSource = Objects.requireNonNull(commitSource, "Commit source must not be null");
+        this.metricsRegistry = Objects.requireNonNull(metricsRegistry, "Metrics registry must not be null");
+        this.scope = Objects.requireNonNull(scope, "Scope must not be null");
+    }
+
+    public ScanScope scope() {
+        return scope;
+    }
+
+    public FetchPool fetchPool() {
+        return mirrorCache.fetchPool();
+    }
+
+    public Checkpoint scan(final String repositoryUrl) {
+        try (PreparedScan preparedScan = prepare(repositoryUrl)) {
+            return analyze(preparedScan);
+        }
+    }
+
+    public PreparedScan prepare(final String repositoryUrl) {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        final RepositoryMetrics metrics = metricsRegistry.forRepository(repositoryUrl);
+        final long start = System.nanoTime();
+        final ResultStore resultStore = CommitFactory.resultStore();
+        final Optional<Checkpoint> checkpoint = checkpointStore.load(repositoryUrl, scope.key())
+                .filter(c -> resultStore.covers(repositoryUrl, scope.key(), c.tips()));
+        if (checkpoint.isPresent()) {
+            final Optional<List<String>> remoteTips = scope.tips(
+                    RepositoryFactory.listRemote(mirrorCache.fetchPool(), repositoryUrl));
+            if (remoteTips.isPresent() && remoteTips.get().equals(checkpoint.get().tips())) {
+                log.info("Repository {} is unchanged since {}", repositoryUrl, checkpoint.get().tips());
+                metrics.recordFetch(System.nanoTime() - start, 0);
+                return new PreparedScan(repositoryUrl, checkpoint, null);
+            }
+        }
+        final Mirror mirror = RepositoryFactory.checkout(mirrorCache, repositoryUrl, scope);
+        metrics.recordFetch(System.nanoTime() - start, mirror.transferredBytes());
+        return new PreparedScan(repositoryUrl, checkpoint, mirror);
+    }
+
+    public Checkpoint analyze(final PreparedScan preparedScan) {
+        return analyze(preparedScan, new Cancellation());
+    }
+
+    public Checkpoint analyze(final PreparedScan preparedScan, final Cancellation cancellation) {
+        Objects.requireNonNull(preparedScan, "Prepared scan must not be null");
+        Objects.requireNonNull(cancellation, "Cancellation must not be null");
+        if (preparedScan.isUnchanged()) {
+            return preparedScan.checkpoint().orElseThrow();
+        }
+        final RepositoryMetrics metrics = metricsRegistry.forRepository(preparedScan.repositoryUrl());
+        final long start = System.nanoTime();
+        try {
+            return analyze(preparedScan.repositoryUrl(), preparedScan.checkpoint(), preparedScan.mirror().git(),
+                    metrics, cancellation);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while analyzing repository " + preparedScan.repositoryUrl(), e);
+        } finally {
+            metrics.recordAnalysis(System.nanoTime() - start);
+        }
+    }
+
+    private Checkpoint analyze(final String repositoryUrl, final Optional<Checkpoint> checkpoint, final Git git,
+            final RepositoryMetrics metrics, final Cancellation cancellation) throws IOException {
+        final List<String> tips = scope.tips(git.getRepository());
+        final List<ObjectId> starts = ScanScope.included(tips);
+        final ResultStore resultStore = CommitFactory.resultStore();
+        if (starts.isEmpty()) {
+            log.info("Repository {} has no commits in scope {}", repositoryUrl, scope.key());
+            cancellation.commit(repositoryUrl);
+            resultStore.begin(repositoryUrl, scope.key(), false);
+            resultStore.publish(repositoryUrl, tips);
+            return new Checkpoint(repositoryUrl, scope.key(), tips, List.of(), List.of());
+        }
+        final List<ObjectId> excludes = ScanScope.excluded(tips);
+        final List<ObjectId> checkpointTips = checkpoint
+                .filter(c -> ScanScope.excluded(c.tips()).equals(excludes))
+                .map(c -> ScanScope.included(c.tips()))
+                .filter(ids -> RepositoryFactory.isReachable(git, ids, starts))
+                .orElse(null);
+        if (checkpoint.isPresent() && checkpointTips == null) {
+            log.info("Checkpoint {} of repository {} is no longer part of the history, rescanning",
+                    checkpoint.get().tips(), repositoryUrl);
+        }
+        final List<ObjectId> uninteresting = new ArrayList<>(excludes);
+        if (checkpointTips != null) {
+            uninteresting.addAll(checkpointTips);
+        }
+        final HistoryRange range = new HistoryRange(starts, uninteresting, scope.since(), scope.until());
+        resultStore.begin(repositoryUrl, scope.key(), checkpointTips != null);
+        try {
+            final Checkpoint updatedCheckpoint = analyzeRange(repositoryUrl, checkpoint, checkpointTips, tips, range,
+                    git, metrics, cancellation);
+            resultStore.publish(repositoryUrl, tips);
+            return updatedCheckpoint;
+        } finally {
+            resultStore.discard(repositoryUrl);
+        }
+    }
+
+    private Checkpoint analyzeRange(final String repositoryUrl, final Optional<Checkpoint> checkpoint,
+            final List<ObjectId> checkpointTips, final List<String> tips, final HistoryRange range, final Git git,
+            final RepositoryMetrics metrics, final Cancellation cancellation) throws IOException {
+        final List<String> reportLines = new ArrayList<>();
+        final List<OutputEntry> entries = new ArrayList<>();
+        try (Stream<Commit> commits = commitSource.streamNonValidIn(git, range, metrics)) {
+            commits.forEach(c -> {
+                final Set<Person> invalidPersons = c.invalidPersons();
+                reportLines.add(toPrintableString(repositoryUrl, c, invalidPersons));
+                invalidPersons.forEach(p -> entries.add(new OutputEntry(repositoryUrl, c, p)));
+            });
+        }
+        final boolean foundNonValidCommits = !reportLines.isEmpty();
+        metrics.recordViolations(reportLines.size());
+        if (checkpointTips != null) {
+            reportLines.addAll(checkpoint.get().reportLines());
+            entries.addAll(checkpoint.get().entries());
+        }
+        final Checkpoint updatedCheckpoint = new Checkpoint(repositoryUrl, scope.key(), tips, reportLines,
+                entries);
+        cancellation.commit(repositoryUrl);
+        if (checkpointTips == null || foundNonValidCommits) {
+            writeRepositoryReport(repositoryUrl, updatedCheckpoint);
+        } else {
+            log.info("No new non valid commits in repository {}", repositoryUrl);
+        }
+        checkpointStore.store(updatedCheckpoint);
+        return updatedCheckpoint;
+    }
+
+    private static String toPrintableString(final String repositoryUrl, final Commit nonValidCommit,
+            final Set<Person> invalidPersons) {
+        return repositoryUrl + "/commit/" + nonValidCommit.identifier() + " " + invalidPersons;
+    }
+
+    private static void writeRepositoryReport(final String repositoryUrl, final Checkpoint checkpoint)
+            throws IOException {
+        String trimmed = repositoryUrl;
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        if (trimmed.endsWith(".git")) {
+            trimmed = trimmed.substring(0, trimmed.length() - ".git".length());
+        }
+        final String[] segments = trimmed.split("/");
+        if (segments.length < 2) {
+            throw new IllegalArgumentException("Unable to derive report name from '" + repositoryUrl + "'");
+        }
+        final String org = segments[segments.length - 2];
+        final String name = segments[segments.length - 1];
+        final Path outputDir = Path.of("out/" + org);
+        final Path path = Paths.get(outputDir.toString(), name + ".txt");
+        if (Files.exists(path)) {
+            Files.delete(path);
+        }
+        if (checkpoint.hasViolations()) {
+            Files.createDirectories(outputDir);
+            Files.write(path, checkpoint.reportLines());
+        }
+    }
+}
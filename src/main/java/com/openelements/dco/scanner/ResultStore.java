@@ -0,0 +1,449 @@
+package com.openelements.dco.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ResultStore {
+
+    private final static Logger log = LoggerFactory.getLogger(ResultStore.class);
+
+    private final static int MAGIC = 0x44434f52;
+
+    private final static int VERSION = 1;
+
+    private final static int INVALID = 0x80;
+
+    private final static int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final static Comparator<Aggregate> BY_VIOLATIONS = Comparator.comparingLong(Aggregate::violations)
+            .reversed()
+            .thenComparing(Comparator.comparingLong(Aggregate::commits).reversed())
+            .thenComparing(Aggregate::key);
+
+    private final static ResultStore DISABLED = new ResultStore(false);
+
+    private final boolean enabled;
+
+    private final ConcurrentMap<PersonKey, Integer> personIds = new ConcurrentHashMap<>();
+
+    private final List<PersonKey> persons = new ArrayList<>();
+
+    private final ConcurrentMap<String, Segment> segments = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Segment> pending = new ConcurrentHashMap<>();
+
+    private ResultStore(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static ResultStore disabled() {
+        return DISABLED;
+    }
+
+    public static ResultStore create() {
+        return new ResultStore(true);
+    }
+
+    public static ResultStore load(final Path path) {
+        Objects.requireNonNull(path, "Path must not be null");
+        final ResultStore store = create();
+        if (!Files.exists(path)) {
+            return store;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                log.warn("Ignoring result store {} with unknown format", path);
+                return create();
+            }
+            final int personCount = input.readInt();
+            for (int i = 0; i < personCount; i++) {
+                store.personId(new PersonKey(readString(input), readString(input), readString(input)));
+            }
+            final int segmentCount = input.readInt();
+            for (int i = 0; i < segmentCount; i++) {
+                final String repositoryUrl = readString(input);
+                store.segments.put(repositoryUrl, Segment.read(input, personCount));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable result store {}", path, e);
+            return create();
+        }
+        log.info("Loaded {} commits of {} repositories from result store {}", store.commitCount(),
+                store.segments.size(), path);
+        return store;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean covers(final String repositoryUrl, final String scopeKey, final List<String> tips) {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        final Segment segment = segments.get(repositoryUrl);
+        return !enabled || segment != null && segment.scopeKey.equals(scopeKey) && segment.tips.equals(tips);
+    }
+
+    public void begin(final String repositoryUrl, final String scopeKey, final boolean incremental) {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        Objects.requireNonNull(scopeKey, "Scope key must not be null");
+        if (!enabled) {
+            return;
+        }
+        final Segment published = segments.get(repositoryUrl);
+        pending.put(repositoryUrl, incremental && published != null ? published.copy()
+                : new Segment(scopeKey, List.of()));
+    }
+
+    public void record(final String repositoryUrl, final Commit commit) {
+        Objects.requireNonNull(commit, "Commit must not be null");
+        final Segment segment = pending.get(repositoryUrl);
+        if (segment == null) {
+            return;
+        }
+        final int[] ids = new int[commit.persons().size()];
+        final byte[] roles = new byte[ids.length];
+        int i = 0;
+        for (Person person : commit.persons()) {
+            ids[i] = personId(new PersonKey(person.name(), person.email(), person.gitHubIdentifier()));
+            roles[i++] = (byte) (Roles.mask(person.roles()) | (person.isValid() ? 0 : INVALID));
+        }
+        segment.add(ObjectId.fromString(commit.identifier()), commit.time().toEpochSecond(), ids, roles);
+    }
+
+    public void record(final String repositoryUrl, final CachedCommit commit) {
+        Objects.requireNonNull(commit, "Commit must not be null");
+        final Segment segment = pending.get(repositoryUrl);
+        if (segment == null) {
+            return;
+        }
+        final int[] ids = new int[commit.identities().size()];
+        final byte[] roles = new byte[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            final Person person = commit.identities().get(i).toPerson();
+            ids[i] = personId(new PersonKey(person.name(), person.email(), person.gitHubIdentifier()));
+            roles[i] = (byte) (Roles.mask(person.roles()) | (person.isValid() ? 0 : INVALID));
+        }
+        segment.add(ObjectId.fromString(commit.identifier()), commit.epochSecond(), ids, roles);
+    }
+
+    public void publish(final String repositoryUrl, final List<String> tips) {
+        Objects.requireNonNull(tips, "Tips must not be null");
+        final Segment segment = pending.remove(repositoryUrl);
+        if (segment != null) {
+            segment.tips = List.copyOf(tips);
+            segments.put(repositoryUrl, segment);
+        }
+    }
+
+    public void discard(final String repositoryUrl) {
+        pending.remove(repositoryUrl);
+    }
+
+    public long commitCount() {
+        return segments.values().stream().mapToLong(segment -> segment.size).sum();
+    }
+
+    public List<Aggregate> byRepository() {
+        final List<Aggregate> aggregates = new ArrayList<>();
+        segments.forEach((repositoryUrl, segment) -> {
+            long violations = 0;
+            for (int commit = 0; commit < segment.size; commit++) {
+                if (segment.isViolation(commit)) {
+                    violations++;
+                }
+            }
+            aggregates.add(new Aggregate(repositoryUrl, segment.size, violations));
+        });
+        aggregates.sort(BY_VIOLATIONS);
+        return aggregates;
+    }
+
+    public List<Aggregate> byContributor() {
+        final List<Segment> snapshot = List.copyOf(segments.values());
+        final List<PersonKey> dictionary;
+        synchronized (persons) {
+            dictionary = List.copyOf(persons);
+        }
+        final long[] commits = new long[dictionary.size()];
+        final long[] violations = new long[dictionary.size()];
+        for (Segment segment : snapshot) {
+            for (int identity = 0; identity < segment.identityCount; identity++) {
+                final int personId = segment.personIds[identity];
+                commits[personId]++;
+                if ((segment.roles[identity] & INVALID) != 0) {
+                    violations[personId]++;
+                }
+            }
+        }
+        final List<Aggregate> aggregates = new ArrayList<>();
+        for (int personId = 0; personId < commits.length; personId++) {
+            if (commits[personId] > 0) {
+                aggregates.add(new Aggregate(dictionary.get(personId).toString(), commits[personId],
+                        violations[personId]));
+            }
+        }
+        aggregates.sort(BY_VIOLATIONS);
+        return aggregates;
+    }
+
+    public List<Aggregate> byMonth() {
+        final Map<YearMonth, long[]> counts = new TreeMap<>();
+        for (Segment segment : segments.values()) {
+            for (int commit = 0; commit < segment.size; commit++) {
+                final long[] count = counts.computeIfAbsent(YearMonth.from(
+                        LocalDate.ofEpochDay(Math.floorDiv(segment.times[commit], SECONDS_PER_DAY))),
+                        month -> new long[2]);
+                count[0]++;
+                if (segment.isViolation(commit)) {
+                    count[1]++;
+                }
+            }
+        }
+        final List<Aggregate> aggregates = new ArrayList<>();
+        counts.forEach((month, count) -> aggregates.add(new Aggregate(month.toString(), count[0], count[1])));
+        return aggregates;
+    }
+
+    public void write(final Path path) throws IOException {
+        Objects.requireNonNull(path, "Path must not be null");
+        final Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path tempFile = Files.createTempFile(directory, "results", ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(tempFile)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            final List<PersonKey> dictionary;
+            synchronized (persons) {
+                dictionary = List.copyOf(persons);
+            }
+            output.writeInt(dictionary.size());
+            for (PersonKey person : dictionary) {
+                writeString(output, person.name());
+                writeString(output, person.email());
+                writeString(output, person.gitHubIdentifier());
+            }
+            final Map<String, Segment> snapshot = new TreeMap<>(segments);
+            output.writeInt(snapshot.size());
+            for (Map.Entry<String, Segment> entry : snapshot.entrySet()) {
+                writeString(output, entry.getKey());
+                entry.getValue().write(output);
+            }
+        }
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void writeStatistics(final Path path) throws IOException {
+        Objects.requireNonNull(path, "Path must not be null");
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        final List<Aggregate> repositories = byRepository();
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("{\n  \"commits\": " + commitCount());
+            writer.write(",\n  \"violations\": " + repositories.stream().mapToLong(Aggregate::violations).sum());
+            writeAggregates(writer, "repositories", repositories);
+            writeAggregates(writer, "contributors", byContributor());
+            writeAggregates(writer, "months", byMonth());
+            writer.write("\n}\n");
+        }
+    }
+
+    private static void writeAggregates(final Writer writer, final String name, final List<Aggregate> aggregates)
+            throws IOException {
+        writer.write(",\n  " + Json.quote(name) + ": [");
+        String separator = "";
+        for (Aggregate aggregate : aggregates) {
+            writer.write(separator + "\n    {\"key\": " + Json.quote(aggregate.key())
+                    + ", \"commits\": " + aggregate.commits() + ", \"violations\": " + aggregate.violations() + "}");
+            separator = ",";
+        }
+        writer.write("\n  ]");
+    }
+
+    private int personId(final PersonKey person) {
+        final Integer id = personIds.get(person);
+        if (id != null) {
+            return id;
+        }
+        synchronized (persons) {
+            return personIds.computeIfAbsent(person, key -> {
+                persons.add(key);
+                return persons.size() - 1;
+            });
+        }
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        return length < 0 ? null : new String(input.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    public record Aggregate(String key, long commits, long violations) {
+
+        public Aggregate {
+            Objects.requireNonNull(key, "Key must not be null");
+        }
+    }
+
+    private record PersonKey(String name, String email, String gitHubIdentifier) {
+
+        @Override
+        public String toString() {
+            return name + " <" + email + ">";
+        }
+    }
+
+    private static final class Segment {
+
+        private final String scopeKey;
+
+        private volatile List<String> tips;
+
+        private int size;
+
+        private byte[] ids = new byte[16 * Constants.OBJECT_ID_LENGTH];
+
+        private long[] times = new long[16];
+
+        private int[] identityEnds = new int[16];
+
+        private int identityCount;
+
+        private int[] personIds = new int[32];
+
+        private byte[] roles = new byte[32];
+
+        private Segment(final String scopeKey, final List<String> tips) {
+            this.scopeKey = Objects.requireNonNull(scopeKey, "Scope key must not be null");
+            this.tips = List.copyOf(tips);
+        }
+
+        private synchronized void add(final ObjectId commitId, final long epochSecond, final int[] commitPersons,
+                final byte[] commitRoles) {
+            if (size == times.length) {
+                ids = Arrays.copyOf(ids, 2 * ids.length);
+                times = Arrays.copyOf(times, 2 * times.length);
+                identityEnds = Arrays.copyOf(identityEnds, 2 * identityEnds.length);
+            }
+            if (identityCount + commitPersons.length > personIds.length) {
+                final int capacity = Math.max(2 * personIds.length, identityCount + commitPersons.length);
+                personIds = Arrays.copyOf(personIds, capacity);
+                roles = Arrays.copyOf(roles, capacity);
+            }
+            commitId.copyRawTo(ids, size * Constants.OBJECT_ID_LENGTH);
+            times[size] = epochSecond;
+            System.arraycopy(commitPersons, 0, personIds, identityCount, commitPersons.length);
+            System.arraycopy(commitRoles, 0, roles, identityCount, commitRoles.length);
+            identityCount += commitPersons.length;
+            identityEnds[size++] = identityCount;
+        }
+
+        private boolean isViolation(final int commit) {
+            for (int identity = commit == 0 ? 0 : identityEnds[commit - 1]; identity < identityEnds[commit];
+                    identity++) {
+                if ((roles[identity] & INVALID) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized Segment copy() {
+            final Segment segment = new Segment(scopeKey, tips);
+            segment.size = size;
+            segment.ids = Arrays.copyOf(ids, ids.length);
+            segment.times = Arrays.copyOf(times, times.length);
+            segment.identityEnds = Arrays.copyOf(identityEnds, identityEnds.length);
+            segment.identityCount = identityCount;
+            segment.personIds = Arrays.copyOf(personIds, personIds.length);
+            segment.roles = Arrays.copyOf(roles, roles.length);
+            return segment;
+        }
+
+        private void write(final DataOutputStream output) throws IOException {
+            writeString(output, scopeKey);
+            output.writeInt(tips.size());
+            for (String tip : tips) {
+                writeString(output, tip);
+            }
+            output.writeInt(size);
+            output.write(ids, 0, size * Constants.OBJECT_ID_LENGTH);
+            for (int commit = 0; commit < size; commit++) {
+                output.writeLong(times[commit]);
+                output.writeInt(identityEnds[commit]);
+            }
+            for (int identity = 0; identity < identityCount; identity++) {
+                output.writeInt(personIds[identity]);
+                output.writeByte(roles[identity]);
+            }
+        }
+
+        private static Segment read(final DataInputStream input, final int personCount) throws IOException {
+            final String scopeKey = readString(input);
+            final int tipCount = input.readInt();
+            final List<String> tips = new ArrayList<>(tipCount);
+            for (int i = 0; i < tipCount; i++) {
+                tips.add(readString(input));
+            }
+            final Segment segment = new Segment(scopeKey, tips);
+            final int size = input.readInt();
+            segment.size = size;
+            final byte[] ids = input.readNBytes(size * Constants.OBJECT_ID_LENGTH);
+            if (ids.length < size * Constants.OBJECT_ID_LENGTH) {
+                throw new IOException("Incomplete commit ids");
+            }
+            segment.ids = Arrays.copyOf(ids, Math.max(size, 1) * Constants.OBJECT_ID_LENGTH);
+            segment.times = new long[Math.max(size, 1)];
+            segment.identityEnds = new int[Math.max(size, 1)];
+            for (int commit = 0; commit < size; commit++) {
+                segment.times[commit] = input.readLong();
+                segment.identityEnds[commit] = input.readInt();
+            }
+            segment.identityCount = size == 0 ? 0 : segment.identityEnds[size - 1];
+            segment.personIds = new int[Math.max(segment.identityCount, 1)];
+            segment.roles = new byte[Math.max(segment.identityCount, 1)];
+            for (int identity = 0; identity < segment.identityCount; identity++) {
+                segment.personIds[identity] = input.readInt();
+                segment.roles[identity] = input.readByte();
+                if (segment.personIds[identity] < 0 || segment.personIds[identity] >= personCount) {
+                    throw new IOException("Unknown person id " + segment.personIds[identity]);
+                }
+            }
+            return segment;
+        }
+    }
+}
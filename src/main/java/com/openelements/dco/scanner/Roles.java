@@ -0,0 +1,58 @@
+package com.openelements.dco.scanner;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+public final class Roles {
+
+    private final static Role[] VALUES = Role.values();
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private final static Set<Role>[] CANONICAL = new Set[1 << VALUES.length];
+
+    static {
+        for (int mask = 0; mask < CANONICAL.length; mask++) {
+            final EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+            for (Role role : VALUES) {
+                if ((mask & bit(role)) != 0) {
+                    roles.add(role);
+                }
+            }
+            CANONICAL[mask] = Collections.unmodifiableSet(roles);
+        }
+    }
+
+    private Roles() {
+    }
+
+    public static int bit(final Role role) {
+        return 1 << role.ordinal();
+    }
+
+    public static int mask(final Set<Role> roles) {
+        Objects.requireNonNull(roles, "Roles must not be null");
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= bit(role);
+        }
+        return mask;
+    }
+
+    public static Set<Role> fromMask(final int mask) {
+        if (mask < 0 || mask >= CANONICAL.length) {
+            throw new IllegalArgumentException("Invalid role mask " + mask);
+        }
+        return CANONICAL[mask];
+    }
+
+    public static Set<Role> of(final Role role) {
+        Objects.requireNonNull(role, "Role must not be null");
+        return CANONICAL[bit(role)];
+    }
+
+    public static Set<Role> of(final Set<Role> roles) {
+        return CANONICAL[mask(roles)];
+    }
+}
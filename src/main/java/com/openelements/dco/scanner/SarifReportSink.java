@@ -0,0 +1,57 @@
+package com.openelements.dco.scanner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+public class SarifReportSink implements ReportSink {
+
+    private final static String RULE_ID = "DCO001";
+
+    private final BufferedWriter writer;
+
+    private boolean firstResult = true;
+
+    public SarifReportSink(final Path path) throws IOException {
+        Objects.requireNonNull(path, "Path must not be null");
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        writer.write("{\n  \"version\": \"2.1.0\",\n"
+                + "  \"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\",\n"
+                + "  \"runs\": [{\n"
+                + "    \"tool\": {\"driver\": {\"name\": \"dco-scanner\", \"rules\": [{\"id\": \"" + RULE_ID + "\", "
+                + "\"shortDescription\": {\"text\": \"Contribution without Signed-off-by\"}}]}},\n"
+                + "    \"results\": [");
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void accept(final String repositoryUrl, final List<OutputEntry> entries) throws IOException {
+        for (OutputEntry entry : entries) {
+            writer.write(firstResult ? "\n" : ",\n");
+            firstResult = false;
+            final String identity = entry.githubAccount() != null ? "@" + entry.githubAccount()
+                    : entry.name() + " <" + entry.email() + ">";
+            writer.write("      {\"ruleId\": \"" + RULE_ID + "\", \"level\": \"error\", "
+                    + "\"message\": {\"text\": " + Json.quote("Commit " + entry.commitLink() + " of " + identity
+                    + " is not signed off") + "}, "
+                    + "\"locations\": [{\"physicalLocation\": {\"artifactLocation\": {\"uri\": "
+                    + Json.quote(repositoryUrl) + "}}}], "
+                    + "\"properties\": {\"commit\": " + Json.quote(entry.commitLink())
+                    + ", \"time\": " + Json.quote(entry.time().toString())
+                    + ", \"name\": " + Json.quote(entry.name())
+                    + ", \"email\": " + Json.quote(entry.email())
+                    + ", \"githubAccount\": " + Json.quote(entry.githubAccount()) + "}}");
+        }
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.write("\n    ]\n  }]\n}\n");
+        writer.close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.openelements.dco.scanner;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ScanMetrics implements ScanMetricsMBean {
+
+    private final static Logger log = LoggerFactory.getLogger(ScanMetrics.class);
+
+    private final static String OBJECT_NAME = "com.openelements.dco.scanner:type=ScanMetrics";
+
+    private final MetricsRegistry registry;
+
+    public ScanMetrics(final MetricsRegistry registry) {
+        this.registry = Objects.requireNonNull(registry, "Registry must not be null");
+    }
+
+    public static void registerMBean(final MetricsRegistry registry) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new ScanMetrics(registry), name);
+        } catch (JMException e) {
+            log.warn("Unable to register scan metrics MBean", e);
+        }
+    }
+
+    @Override
+    public int getRepositories() {
+        return registry.repositories().size();
+    }
+
+    @Override
+    public long getFetchMillis() {
+        return registry.total(RepositoryMetrics::fetchNanos) / 1_000_000;
+    }
+
+    @Override
+    public long getFetchedBytes() {
+        return registry.total(RepositoryMetrics::fetchedBytes);
+    }
+
+    @Override
+    public long getAnalysisMillis() {
+        return registry.total(RepositoryMetrics::analysisNanos) / 1_000_000;
+    }
+
+    @Override
+    public long getCommitsWalked() {
+        return registry.total(RepositoryMetrics::commitsWalked);
+    }
+
+    @Override
+    public long getCommitsParsed() {
+        return registry.total(RepositoryMetrics::commitsParsed);
+    }
+
+    @Override
+    public long getParseMillis() {
+        return registry.total(RepositoryMetrics::parseNanos) / 1_000_000;
+    }
+
+    @Override
+    public long getCommitsCached() {
+        return registry.total(RepositoryMetrics::commitsCached);
+    }
+
+    @Override
+    public long getViolations() {
+        return registry.total(RepositoryMetrics::violations);
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        return registry.gauges();
+    }
+}
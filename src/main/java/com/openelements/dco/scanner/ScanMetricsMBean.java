@@ -0,0 +1,26 @@
+package com.openelements.dco.scanner;
+
+import java.util.Map;
+
+public interface ScanMetricsMBean {
+
+    int getRepositories();
+
+    long getFetchMillis();
+
+    long getFetchedBytes();
+
+    long getAnalysisMillis();
+
+    long getCommitsWalked();
+
+    long getCommitsParsed();
+
+    long getParseMillis();
+
+    long getCommitsCached();
+
+    long getViolations();
+
+    Map<String, Long> getGauges();
+}
@@ -0,0 +1,25 @@
+package com.openelements.dco.scanner;
+
+public record ScanResult(String repositoryUrl, Checkpoint checkpoint, Throwable failure) {
+
+    public ScanResult {
+        if (repositoryUrl == null || repositoryUrl.isBlank()) {
+            throw new IllegalArgumentException("Repository URL must not be null or empty");
+        }
+        if ((checkpoint == null) == (failure == null)) {
+            throw new IllegalArgumentException("Exactly one of checkpoint and failure must be provided");
+        }
+    }
+
+    public static ScanResult success(final String repositoryUrl, final Checkpoint checkpoint) {
+        return new ScanResult(repositoryUrl, checkpoint, null);
+    }
+
+    public static ScanResult failure(final String repositoryUrl, final Throwable failure) {
+        return new ScanResult(repositoryUrl, null, failure);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,283 @@
+package com.openelements.dco.scanner;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+public class ScanScheduler implements AutoCloseable {
+
+    private final static Logger log = LoggerFactory.getLogger(ScanScheduler.class);
+
+    private final static Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    private final RepositoryScanner repositoryScanner;
+
+    private final Semaphore fetchPermits;
+
+    private final ExecutorService repositoryExecutor;
+
+    private final ThreadPoolExecutor analysisExecutor;
+
+    private final ScheduledExecutorService watchdog;
+
+    private final Duration timeout;
+
+    private final int retries;
+
+    public ScanScheduler(final RepositoryScanner repositoryScanner, final int fetchConcurrency,
+            final int analysisConcurrency, final Duration timeout, final int retries) {
+        this.repositoryScanner = Objects.requireNonNull(repositoryScanner, "Repository scanner must not be null");
+        if (fetchConcurrency < 1) {
+            throw new IllegalArgumentException("Fetch concurrency must be at least 1");
+        }
+        if (analysisConcurrency < 1) {
+            throw new IllegalArgumentException("Analysis concurrency must be at least 1");
+        }
+        this.timeout = Objects.requireNonNull(timeout, "Timeout must not be null");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        if (retries < 0) {
+            throw new IllegalArgumentException("Retries must not be negative");
+        }
+        this.retries = retries;
+        this.fetchPermits = new Semaphore(fetchConcurrency, true);
+        this.repositoryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.analysisExecutor = new ThreadPoolExecutor(analysisConcurrency, analysisConcurrency, 0L,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("dco-analysis-", 0).daemon().factory());
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("dco-watchdog").daemon().factory());
+    }
+
+    public void registerGauges(final MetricsRegistry metricsRegistry) {
+        Objects.requireNonNull(metricsRegistry, "Metrics registry must not be null");
+        metricsRegistry.registerGauge("fetch.queue.depth", fetchPermits::getQueueLength);
+        metricsRegistry.registerGauge("analysis.queue.depth", () -> analysisExecutor.getQueue().size());
+        metricsRegistry.registerGauge("analysis.active", analysisExecutor::getActiveCount);
+    }
+
+    public void scan(final List<String> repositories, final Consumer<ScanResult> listener) {
+        Objects.requireNonNull(repositories, "Repositories must not be null");
+        Objects.requireNonNull(listener, "Listener must not be null");
+        final List<Future<?>> futures = repositories.stream()
+                .<Future<?>>map(repositoryUrl -> repositoryExecutor.submit(() -> {
+                    final ScanResult result = scanRepository(repositoryUrl);
+                    try {
+                        listener.accept(result);
+                    } catch (RuntimeException e) {
+                        log.error("Error while handling result of repository {}", repositoryUrl, e);
+                    }
+                }))
+                .toList();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for repository scans", e);
+            } catch (ExecutionException e) {
+                log.error("Unexpected error while scanning repositories", e.getCause());
+            }
+        }
+    }
+
+    private ScanResult scanRepository(final String repositoryUrl) {
+        MDC.put("repository", repositoryUrl);
+        try {
+            log.info("Scanning repository {}", repositoryUrl);
+            final Checkpoint checkpoint = scanWithTimeout(repositoryUrl);
+            if (checkpoint.hasViolations()) {
+                log.info("Repository {} contains non valid commits", repositoryUrl);
+            } else {
+                log.info("Repository {} is clean", repositoryUrl);
+            }
+            return ScanResult.success(repositoryUrl, checkpoint);
+        } catch (Exception e) {
+            log.error("Error while handling repository {}", repositoryUrl, e);
+            return ScanResult.failure(repositoryUrl, e);
+        } finally {
+            MDC.remove("repository");
+        }
+    }
+
+    private Checkpoint scanWithTimeout(final String repositoryUrl) throws Exception {
+        final PreparedScan preparedScan = prepareWithRetries(repositoryUrl);
+        try (preparedScan) {
+            if (preparedScan.isUnchanged()) {
+                return repositoryScanner.analyze(preparedScan);
+            }
+            final Analysis analysis = new Analysis(preparedScan);
+            final Future<Checkpoint> future = analysisExecutor.submit(analysis);
+            try {
+                return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (!analysis.cancel(future)) {
+                    log.info("Analysis of repository {} exceeded {} while storing its results", repositoryUrl,
+                            timeout);
+                    return result(future);
+                }
+                throw new TimeoutException("Analysis of repository " + repositoryUrl + " exceeded " + timeout);
+            } catch (InterruptedException e) {
+                analysis.cancel(future);
+                throw e;
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+    }
+
+    private static Checkpoint result(final Future<Checkpoint> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private PreparedScan prepareWithRetries(final String repositoryUrl) throws Exception {
+        Duration backoff = INITIAL_BACKOFF;
+        for (int attempt = 0; ; attempt++) {
+            try (FetchPool.Reservation reservation = repositoryScanner.fetchPool().reserve(repositoryUrl)) {
+                fetchPermits.acquire();
+                final Deadline deadline = new Deadline();
+                try {
+                    final PreparedScan preparedScan = repositoryScanner.prepare(repositoryUrl);
+                    if (deadline.disarm()) {
+                        preparedScan.close();
+                        throw new TimeoutException("Fetching repository " + repositoryUrl + " exceeded " + timeout);
+                    }
+                    return preparedScan;
+                } catch (RuntimeException e) {
+                    if (deadline.disarm() || attempt >= retries) {
+                        throw e;
+                    }
+                    log.warn("Fetching repository {} failed (attempt {} of {}), retrying in {}", repositoryUrl,
+                            attempt + 1, retries + 1, backoff, e);
+                } finally {
+                    deadline.disarm();
+                    fetchPermits.release();
+                }
+            }
+            Thread.sleep(backoff.toMillis());
+            backoff = backoff.multipliedBy(2);
+        }
+    }
+
+    @Override
+    public void close() {
+        repositoryExecutor.shutdownNow();
+        analysisExecutor.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    private final class Deadline {
+
+        private final Thread thread;
+
+        private final ScheduledFuture<?> expiration;
+
+        private boolean active;
+
+        private boolean expired;
+
+        private Deadline() {
+            thread = Thread.currentThread();
+            active = true;
+            expiration = watchdog.schedule(this::expire, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void expire() {
+            if (active) {
+                expired = true;
+                thread.interrupt();
+            }
+        }
+
+        private synchronized boolean disarm() {
+            if (active) {
+                active = false;
+                expiration.cancel(false);
+                if (expired) {
+                    Thread.interrupted();
+                }
+            }
+            return expired;
+        }
+    }
+
+    private final class Analysis implements Callable<Checkpoint> {
+
+        private final PreparedScan preparedScan;
+
+        private final Cancellation cancellation = new Cancellation();
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        private Analysis(final PreparedScan preparedScan) {
+            this.preparedScan = preparedScan;
+        }
+
+        @Override
+        public Checkpoint call() {
+            if (!claimed.compareAndSet(false, true)) {
+                throw new CancellationException("Analysis of repository " + preparedScan.repositoryUrl()
+                        + " was cancelled");
+            }
+            MDC.put("repository", preparedScan.repositoryUrl());
+            try {
+                return repositoryScanner.analyze(preparedScan, cancellation);
+            } finally {
+                MDC.remove("repository");
+                finished.countDown();
+            }
+        }
+
+        private boolean cancel(final Future<Checkpoint> future) {
+            final boolean cancelled = cancellation.cancel();
+            if (cancelled) {
+                future.cancel(true);
+            }
+            if (!claimed.compareAndSet(false, true)) {
+                awaitFinished();
+            }
+            return cancelled;
+        }
+
+        private void awaitFinished() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    finished.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
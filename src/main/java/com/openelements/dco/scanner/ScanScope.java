@@ -0,0 +1,220 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.RefSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public record ScanScope(List<String> revisions, List<String> excludes, Instant since, Instant until,
+                       boolean shallowFetch) {
+
+    private final static Logger log = LoggerFactory.getLogger(ScanScope.class);
+
+    private final static String EXCLUDED_PREFIX = "^";
+
+    private final static String RANGE_SEPARATOR = "..";
+
+    private final static ScanScope HEAD = new ScanScope(List.of(Constants.HEAD), List.of(), null, null, false);
+
+    public ScanScope {
+        revisions = List.copyOf(Objects.requireNonNull(revisions, "Revisions must not be null"));
+        excludes = List.copyOf(Objects.requireNonNull(excludes, "Excludes must not be null"));
+        if (revisions.isEmpty()) {
+            throw new IllegalArgumentException("At least one revision must be provided");
+        }
+        if (revisions.stream().anyMatch(String::isBlank) || excludes.stream().anyMatch(String::isBlank)) {
+            throw new IllegalArgumentException("Revisions must not be blank");
+        }
+        if (since != null && until != null && until.isBefore(since)) {
+            throw new IllegalArgumentException("Until must not be before since");
+        }
+        if (shallowFetch && since == null) {
+            throw new IllegalArgumentException("Shallow fetches require a since bound");
+        }
+    }
+
+    public static ScanScope head() {
+        return HEAD;
+    }
+
+    public static ScanScope of(final Collection<String> revisions, final Collection<String> excludes,
+            final Instant since, final Instant until, final boolean shallowFetch) {
+        Objects.requireNonNull(revisions, "Revisions must not be null");
+        Objects.requireNonNull(excludes, "Excludes must not be null");
+        final Set<String> included = new LinkedHashSet<>();
+        final Set<String> excluded = new LinkedHashSet<>(excludes);
+        for (String revision : revisions) {
+            final int separator = revision.indexOf(RANGE_SEPARATOR);
+            if (revision.startsWith(EXCLUDED_PREFIX)) {
+                excluded.add(revision.substring(EXCLUDED_PREFIX.length()));
+            } else if (separator >= 0) {
+                excluded.add(revision.substring(0, separator));
+                included.add(revision.substring(separator + RANGE_SEPARATOR.length()));
+            } else {
+                included.add(revision);
+            }
+        }
+        return new ScanScope(List.copyOf(included), List.copyOf(excluded), since, until, shallowFetch);
+    }
+
+    public String key() {
+        if (revisions.equals(HEAD.revisions) && excludes.isEmpty() && since == null && until == null) {
+            return Constants.HEAD;
+        }
+        final List<String> parts = new ArrayList<>(revisions);
+        excludes.forEach(exclude -> parts.add(EXCLUDED_PREFIX + exclude));
+        if (since != null) {
+            parts.add("since=" + since);
+        }
+        if (until != null) {
+            parts.add("until=" + until);
+        }
+        return String.join(",", parts);
+    }
+
+    public Instant shallowSince() {
+        return shallowFetch ? since : null;
+    }
+
+    public List<RefSpec> refSpecs() {
+        final List<RefSpec> refSpecs = new ArrayList<>();
+        for (String revision : concat(revisions, excludes)) {
+            if (ObjectId.isId(revision)) {
+                continue;
+            }
+            if (!revision.startsWith(Constants.R_REFS) || revision.contains("?")
+                    || revision.indexOf('*') != revision.lastIndexOf('*')) {
+                return List.of();
+            }
+            refSpecs.add(new RefSpec("+" + revision + ":" + revision));
+        }
+        return List.copyOf(refSpecs);
+    }
+
+    public Optional<List<String>> tips(final Map<String, ObjectId> refs) {
+        return tips(refs, revision -> null);
+    }
+
+    public List<String> tips(final Repository repository) throws IOException {
+        Objects.requireNonNull(repository, "Repository must not be null");
+        final Map<String, ObjectId> refs = new HashMap<>();
+        for (Ref ref : repository.getRefDatabase().getRefs()) {
+            if (ref.getObjectId() != null) {
+                refs.put(ref.getName(), ref.getObjectId());
+            }
+        }
+        final Ref head = repository.exactRef(Constants.HEAD);
+        if (head != null && head.getObjectId() != null) {
+            refs.put(Constants.HEAD, head.getObjectId());
+        }
+        return tips(refs, revision -> {
+            try {
+                final ObjectId id = repository.resolve(revision);
+                if (id == null) {
+                    log.warn("Ignoring unknown revision '{}' of {}", revision, repository.getDirectory());
+                    return Set.of();
+                }
+                return Set.of(id);
+            } catch (IOException e) {
+                throw new RuntimeException("Error while resolving revision '" + revision + "'", e);
+            }
+        }).orElseThrow();
+    }
+
+    public static List<ObjectId> included(final List<String> tips) {
+        return tips.stream()
+                .filter(tip -> !tip.startsWith(EXCLUDED_PREFIX))
+                .map(ObjectId::fromString)
+                .toList();
+    }
+
+    public static List<ObjectId> excluded(final List<String> tips) {
+        return tips.stream()
+                .filter(tip -> tip.startsWith(EXCLUDED_PREFIX))
+                .map(tip -> ObjectId.fromString(tip.substring(EXCLUDED_PREFIX.length())))
+                .toList();
+    }
+
+    private Optional<List<String>> tips(final Map<String, ObjectId> refs,
+            final Function<String, Set<ObjectId>> fallback) {
+        final SortedSet<String> tips = new TreeSet<>();
+        for (String revision : revisions) {
+            final Set<ObjectId> ids = resolve(revision, refs, fallback);
+            if (ids == null) {
+                return Optional.empty();
+            }
+            ids.forEach(id -> tips.add(id.name()));
+        }
+        for (String exclude : excludes) {
+            final Set<ObjectId> ids = resolve(exclude, refs, fallback);
+            if (ids == null) {
+                return Optional.empty();
+            }
+            ids.forEach(id -> tips.add(EXCLUDED_PREFIX + id.name()));
+        }
+        return Optional.of(List.copyOf(tips));
+    }
+
+    private static Set<ObjectId> resolve(final String revision, final Map<String, ObjectId> refs,
+            final Function<String, Set<ObjectId>> fallback) {
+        if (ObjectId.isId(revision)) {
+            return Set.of(ObjectId.fromString(revision));
+        }
+        if (revision.contains("*") || revision.contains("?")) {
+            final Pattern pattern = globPattern(revision);
+            final Set<ObjectId> ids = new LinkedHashSet<>();
+            refs.forEach((name, id) -> {
+                if (pattern.matcher(name).matches()) {
+                    ids.add(id);
+                }
+            });
+            return ids;
+        }
+        for (String candidate : List.of(revision, Constants.R_HEADS + revision, Constants.R_TAGS + revision)) {
+            final ObjectId id = refs.get(candidate);
+            if (id != null) {
+                return Set.of(id);
+            }
+        }
+        if (revision.equals(Constants.HEAD) || revision.startsWith(Constants.R_REFS)) {
+            return Set.of();
+        }
+        return fallback.apply(revision);
+    }
+
+    private static Pattern globPattern(final String glob) {
+        final StringBuilder regex = new StringBuilder();
+        for (String literal : glob.split("(?=[*?])|(?<=[*?])")) {
+            switch (literal) {
+                case "*" -> regex.append(".*");
+                case "?" -> regex.append('.');
+                default -> regex.append(Pattern.quote(literal));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static List<String> concat(final List<String> first, final List<String> second) {
+        final List<String> result = new ArrayList<>(first);
+        result.addAll(second);
+        return result;
+    }
+}
@@ -0,0 +1,314 @@
+package com.openelements.dco.scanner;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ScanService implements AutoCloseable {
+
+    private final static Logger log = LoggerFactory.getLogger(ScanService.class);
+
+    private final static Pattern CLONE_URL = Pattern.compile("\"clone_url\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final static int MAX_BODY_BYTES = 1024 * 1024;
+
+    private final ScanScheduler scheduler;
+
+    private final CheckpointStore checkpointStore;
+
+    private final ScanScope scope;
+
+    private final MirrorCache mirrorCache;
+
+    private final MetricsRegistry metricsRegistry;
+
+    private final Set<String> repositories;
+
+    private final int workers;
+
+    private final Set<String> queued = new LinkedHashSet<>();
+
+    private final Set<String> running = new LinkedHashSet<>();
+
+    private final List<Thread> workerThreads = new ArrayList<>();
+
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private ExecutorService httpExecutor;
+
+    private HttpServer server;
+
+    public ScanService(final ScanScheduler scheduler, final CheckpointStore checkpointStore,
+            final ScanScope scope, final MirrorCache mirrorCache, final MetricsRegistry metricsRegistry,
+            final List<String> repositories, final int workers) {
+        this.scheduler = Objects.requireNonNull(scheduler, "Scheduler must not be null");
+        this.checkpointStore = Objects.requireNonNull(checkpointStore, "Checkpoint store must not be null");
+        this.scope = Objects.requireNonNull(scope, "Scope must not be null");
+        this.mirrorCache = Objects.requireNonNull(mirrorCache, "Mirror cache must not be null");
+        this.metricsRegistry = Objects.requireNonNull(metricsRegistry, "Metrics registry must not be null");
+        this.repositories = Set.copyOf(Objects.requireNonNull(repositories, "Repositories must not be null"));
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be at least 1");
+        }
+        this.workers = workers;
+    }
+
+    public synchronized InetSocketAddress start(final InetSocketAddress address) throws IOException {
+        Objects.requireNonNull(address, "Address must not be null");
+        if (server != null) {
+            throw new IllegalStateException("Service is already started");
+        }
+        httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(address, 0);
+        server.setExecutor(httpExecutor);
+        server.createContext("/scan", exchange -> handle(exchange, "POST", this::handleScan));
+        server.createContext("/webhook", exchange -> handle(exchange, "POST", this::handleWebhook));
+        server.createContext("/results", exchange -> handle(exchange, "GET", this::handleResults));
+        server.createContext("/status", exchange -> handle(exchange, "GET", this::handleStatus));
+        for (int i = 0; i < workers; i++) {
+            workerThreads.add(Thread.ofVirtual().name("dco-service-" + i).start(this::work));
+        }
+        server.start();
+        log.info("Scan service listening on {}", server.getAddress());
+        return server.getAddress();
+    }
+
+    public synchronized boolean submit(final String repositoryUrl) {
+        Objects.requireNonNull(repositoryUrl, "Repository URL must not be null");
+        if (!repositories.contains(repositoryUrl)) {
+            throw new IllegalArgumentException("Repository '" + repositoryUrl + "' is not configured");
+        }
+        final boolean added = queued.add(repositoryUrl);
+        if (added) {
+            log.info("Queued rescan of repository {}", repositoryUrl);
+            notifyAll();
+        } else {
+            log.debug("Rescan of repository {} is already queued", repositoryUrl);
+        }
+        return added;
+    }
+
+    public void awaitTermination() throws InterruptedException {
+        terminated.await();
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            final String repositoryUrl;
+            try {
+                repositoryUrl = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                scheduler.scan(List.of(repositoryUrl), result -> {
+                    if (!result.isSuccess()) {
+                        log.error("Rescan of repository {} failed", repositoryUrl, result.failure());
+                    }
+                });
+                mirrorCache.evict();
+            } catch (RuntimeException e) {
+                log.error("Unexpected error while rescanning repository {}", repositoryUrl, e);
+            } finally {
+                finished(repositoryUrl);
+            }
+        }
+    }
+
+    private synchronized String take() throws InterruptedException {
+        while (true) {
+            final Iterator<String> iterator = queued.iterator();
+            while (iterator.hasNext()) {
+                final String repositoryUrl = iterator.next();
+                if (!running.contains(repositoryUrl)) {
+                    iterator.remove();
+                    running.add(repositoryUrl);
+                    return repositoryUrl;
+                }
+            }
+            wait();
+        }
+    }
+
+    private synchronized void finished(final String repositoryUrl) {
+        running.remove(repositoryUrl);
+        notifyAll();
+    }
+
+    private Response handleScan(final HttpExchange exchange) throws IOException {
+        final String repositoryUrl = queryParameter(exchange, "repository");
+        return enqueue(repositoryUrl != null ? repositoryUrl : readBody(exchange).trim());
+    }
+
+    private Response handleWebhook(final HttpExchange exchange) throws IOException {
+        final Matcher matcher = CLONE_URL.matcher(readBody(exchange));
+        if (!matcher.find()) {
+            return new Response(400, error("Payload does not contain a repository clone_url"));
+        }
+        String repositoryUrl = matcher.group(1);
+        if (repositoryUrl.endsWith(".git")) {
+            repositoryUrl = repositoryUrl.substring(0, repositoryUrl.length() - ".git".length());
+        }
+        return enqueue(repositoryUrl);
+    }
+
+    private Response enqueue(final String repositoryUrl) {
+        if (repositoryUrl == null || repositoryUrl.isBlank()) {
+            return new Response(400, error("Repository must be given"));
+        }
+        if (!repositories.contains(repositoryUrl)) {
+            return new Response(404, error("Repository '" + repositoryUrl + "' is not configured"));
+        }
+        final boolean added = submit(repositoryUrl);
+        return new Response(202, "{\"repository\": " + Json.quote(repositoryUrl)
+                + ", \"queued\": " + added + "}");
+    }
+
+    private Response handleResults(final HttpExchange exchange) {
+        final String repositoryUrl = queryParameter(exchange, "repository");
+        if (repositoryUrl == null || !repositories.contains(repositoryUrl)) {
+            return new Response(404, error("Repository '" + repositoryUrl + "' is not configured"));
+        }
+        final Optional<Checkpoint> checkpoint = checkpointStore.load(repositoryUrl, scope.key());
+        if (checkpoint.isEmpty()) {
+            return new Response(404, error("Repository '" + repositoryUrl + "' has not been scanned yet"));
+        }
+        final StringBuilder json = new StringBuilder("{\"repository\": ").append(Json.quote(repositoryUrl))
+                .append(", \"tips\": ").append(toJson(checkpoint.get().tips()))
+                .append(", \"violations\": [");
+        String separator = "";
+        for (OutputEntry entry : checkpoint.get().entries()) {
+            json.append(separator)
+                    .append("{\"commit\": ").append(Json.quote(entry.commitLink()))
+                    .append(", \"time\": ").append(Json.quote(entry.time().toString()))
+                    .append(", \"name\": ").append(Json.quote(entry.name()))
+                    .append(", \"email\": ").append(Json.quote(entry.email()))
+                    .append(", \"githubAccount\": ").append(Json.quote(entry.githubAccount())).append('}');
+            separator = ", ";
+        }
+        return new Response(200, json.append("]}").toString());
+    }
+
+    private Response handleStatus(final HttpExchange exchange) {
+        final List<String> queuedSnapshot;
+        final List<String> runningSnapshot;
+        synchronized (this) {
+            queuedSnapshot = List.copyOf(queued);
+            runningSnapshot = List.copyOf(running);
+        }
+        final StringBuilder json = new StringBuilder("{\"queued\": ").append(toJson(queuedSnapshot))
+                .append(", \"running\": ").append(toJson(runningSnapshot))
+                .append(", \"commitsWalked\": ").append(metricsRegistry.total(RepositoryMetrics::commitsWalked))
+                .append(", \"gauges\": {");
+        String separator = "";
+        for (Map.Entry<String, Long> gauge : metricsRegistry.gauges().entrySet()) {
+            json.append(separator).append(Json.quote(gauge.getKey())).append(": ").append(gauge.getValue());
+            separator = ", ";
+        }
+        return new Response(200, json.append("}}").toString());
+    }
+
+    private void handle(final HttpExchange exchange, final String method, final Handler handler)
+            throws IOException {
+        try (exchange) {
+            Response response;
+            if (!method.equals(exchange.getRequestMethod())) {
+                response = new Response(405, error("Method " + exchange.getRequestMethod() + " is not allowed"));
+            } else {
+                try {
+                    response = handler.handle(exchange);
+                } catch (Exception e) {
+                    log.error("Error while handling request {}", exchange.getRequestURI(), e);
+                    response = new Response(500, error(e.getMessage()));
+                }
+            }
+            final byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        }
+    }
+
+    private static String readBody(final HttpExchange exchange) throws IOException {
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            final byte[] body = inputStream.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new IOException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String queryParameter(final HttpExchange exchange, final String name) {
+        final String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            final int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static String toJson(final List<String> values) {
+        return values.stream().map(Json::quote).reduce((a, b) -> a + ", " + b)
+                .map(joined -> "[" + joined + "]").orElse("[]");
+    }
+
+    private static String error(final String message) {
+        return "{\"error\": " + Json.quote(message) + "}";
+    }
+
+    @Override
+    public void close() {
+        final HttpServer serverToStop;
+        final ExecutorService executorToStop;
+        synchronized (this) {
+            serverToStop = server;
+            executorToStop = httpExecutor;
+            server = null;
+            httpExecutor = null;
+            workerThreads.forEach(Thread::interrupt);
+            workerThreads.clear();
+        }
+        if (serverToStop != null) {
+            serverToStop.stop(1);
+            executorToStop.shutdownNow();
+            log.info("Scan service stopped");
+        }
+        terminated.countDown();
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Response handle(HttpExchange exchange) throws IOException;
+    }
+}
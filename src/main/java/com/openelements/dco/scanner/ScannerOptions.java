@@ -0,0 +1,295 @@
+package com.openelements.dco.scanner;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.eclipse.jgit.lib.Constants;
+
+public final class ScannerOptions {
+
+    public final static String CHECKPOINT_DIR = "checkpoint-dir";
+
+    public final static String CACHE_DIR = "cache-dir";
+
+    public final static String CACHE_MAX_BYTES = "cache-max-bytes";
+
+    public final static String FETCH_CONCURRENCY = "fetch-concurrency";
+
+    public final static String ANALYSIS_CONCURRENCY = "analysis-concurrency";
+
+    public final static String REPOSITORY_TIMEOUT_SECONDS = "repository-timeout-seconds";
+
+    public final static String FETCH_RETRIES = "fetch-retries";
+
+    public final static String HISTORY_PARALLELISM = "history-parallelism";
+
+    public final static String HISTORY_BATCH_SIZE = "history-batch-size";
+
+    public final static String METRICS_FILE = "metrics-file";
+
+    public final static String COMMIT_LOGGING = "commit-logging";
+
+    public final static String REPORT_FORMATS = "report-formats";
+
+    public final static String SERVICE_PORT = "service-port";
+
+    public final static String PACKED_GIT_LIMIT = "packed-git-limit";
+
+    public final static String PACKED_GIT_WINDOW_SIZE = "packed-git-window-size";
+
+    public final static String PACKED_GIT_MMAP = "packed-git-mmap";
+
+    public final static String PACKED_GIT_OPEN_FILES = "packed-git-open-files";
+
+    public final static String DELTA_BASE_CACHE_LIMIT = "delta-base-cache-limit";
+
+    public final static String COMMIT_GRAPH = "commit-graph";
+
+    public final static String HISTORY_ORDER = "history-order";
+
+    public final static String REFS = "refs";
+
+    public final static String EXCLUDE = "exclude";
+
+    public final static String SINCE = "since";
+
+    public final static String UNTIL = "until";
+
+    public final static String SHALLOW_FETCH = "shallow-fetch";
+
+    public final static String VERDICT_CACHE = "verdict-cache";
+
+    public final static String VERDICT_CACHE_FILE = "verdict-cache-file";
+
+    public final static String RESULT_STORE = "result-store";
+
+    public final static String RESULT_STORE_FILE = "result-store-file";
+
+    public final static String FETCH_PER_HOST = "fetch-per-host";
+
+    public final static String FETCH_FILTER = "fetch-filter";
+
+    private final static Set<String> KNOWN_OPTIONS = Set.of(CHECKPOINT_DIR, CACHE_DIR, CACHE_MAX_BYTES,
+            FETCH_CONCURRENCY, ANALYSIS_CONCURRENCY, REPOSITORY_TIMEOUT_SECONDS, FETCH_RETRIES,
+            HISTORY_PARALLELISM, HISTORY_BATCH_SIZE, METRICS_FILE, COMMIT_LOGGING, REPORT_FORMATS, SERVICE_PORT,
+            PACKED_GIT_LIMIT, PACKED_GIT_WINDOW_SIZE, PACKED_GIT_MMAP, PACKED_GIT_OPEN_FILES, DELTA_BASE_CACHE_LIMIT,
+            COMMIT_GRAPH, HISTORY_ORDER, REFS, EXCLUDE, SINCE, UNTIL, SHALLOW_FETCH,
+            VERDICT_CACHE, VERDICT_CACHE_FILE, RESULT_STORE, RESULT_STORE_FILE,
+            FETCH_PER_HOST, FETCH_FILTER);
+
+    private final Map<String, String> values;
+
+    private ScannerOptions(final Map<String, String> values) {
+        this.values = Map.copyOf(values);
+    }
+
+    public Path checkpointDirectory() {
+        return Path.of(values.getOrDefault(CHECKPOINT_DIR, ".dco-scanner/checkpoints"));
+    }
+
+    public Path cacheDirectory() {
+        return Path.of(values.getOrDefault(CACHE_DIR, ".dco-scanner/mirrors"));
+    }
+
+    public long cacheMaxBytes() {
+        return getLong(CACHE_MAX_BYTES, 20L * 1024 * 1024 * 1024);
+    }
+
+    public int fetchConcurrency() {
+        return getPositiveInt(FETCH_CONCURRENCY, 8);
+    }
+
+    public FetchPool fetchPool() {
+        final int perHost = getPositiveInt(FETCH_PER_HOST, FetchPool.DEFAULT_PER_HOST_LIMIT);
+        return new FetchPool(perHost, FetchPool.filterOf(values.getOrDefault(FETCH_FILTER,
+                FetchPool.DEFAULT_FILTER)));
+    }
+
+    public int analysisConcurrency() {
+        return getPositiveInt(ANALYSIS_CONCURRENCY, Runtime.getRuntime().availableProcessors());
+    }
+
+    public Duration repositoryTimeout() {
+        return Duration.ofSeconds(getPositiveLong(REPOSITORY_TIMEOUT_SECONDS, 30 * 60));
+    }
+
+    public int fetchRetries() {
+        return (int) getLong(FETCH_RETRIES, 2);
+    }
+
+    public int historyParallelism() {
+        return getPositiveInt(HISTORY_PARALLELISM, 1);
+    }
+
+    public int historyBatchSize() {
+        return getPositiveInt(HISTORY_BATCH_SIZE, 1024);
+    }
+
+    public Path metricsFile() {
+        return Path.of(values.getOrDefault(METRICS_FILE, "out/metrics.json"));
+    }
+
+    public boolean commitLogging() {
+        return getBoolean(COMMIT_LOGGING, false);
+    }
+
+    public Set<String> reportFormats() {
+        return new LinkedHashSet<>(getList(REPORT_FORMATS, "csv,txt"));
+    }
+
+    public boolean serviceMode() {
+        return values.containsKey(SERVICE_PORT);
+    }
+
+    public int servicePort() {
+        final long port = getLong(SERVICE_PORT, 8080);
+        if (port > 65535) {
+            throw new IllegalArgumentException("Option '--" + SERVICE_PORT + "' must be a valid port");
+        }
+        return (int) port;
+    }
+
+    public ObjectAccessSettings objectAccessSettings() {
+        return new ObjectAccessSettings(
+                getLong(PACKED_GIT_LIMIT, ObjectAccessSettings.DEFAULT_PACKED_GIT_LIMIT),
+                getInt(PACKED_GIT_WINDOW_SIZE, ObjectAccessSettings.DEFAULT_PACKED_GIT_WINDOW_SIZE),
+                getBoolean(PACKED_GIT_MMAP, false),
+                getInt(DELTA_BASE_CACHE_LIMIT, ObjectAccessSettings.DEFAULT_DELTA_BASE_CACHE_LIMIT),
+                getInt(PACKED_GIT_OPEN_FILES, ObjectAccessSettings.DEFAULT_PACKED_GIT_OPEN_FILES),
+                getBoolean(COMMIT_GRAPH, true),
+                HistoryOrder.of(values.getOrDefault(HISTORY_ORDER, HistoryOrder.NONE.name())));
+    }
+
+    public boolean verdictCache() {
+        return getBoolean(VERDICT_CACHE, false);
+    }
+
+    public Path verdictCacheFile() {
+        return Path.of(values.getOrDefault(VERDICT_CACHE_FILE, ".dco-scanner/verdicts.bin"));
+    }
+
+    public boolean resultStore() {
+        return getBoolean(RESULT_STORE, false);
+    }
+
+    public Path resultStoreFile() {
+        return Path.of(values.getOrDefault(RESULT_STORE_FILE, ".dco-scanner/results.bin"));
+    }
+
+    public ScanScope scanScope() {
+        return ScanScope.of(getList(REFS, Constants.HEAD), getList(EXCLUDE, ""), getInstant(SINCE),
+                getInstant(UNTIL), getBoolean(SHALLOW_FETCH, false));
+    }
+
+    private List<String> getList(final String name, final String defaultValue) {
+        return Arrays.stream(values.getOrDefault(name, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    private Instant getInstant(final String name) {
+        final String value = values.get(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.contains("T") ? Instant.parse(value) : LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC)
+                    .toInstant();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Option '--" + name + "' must be an ISO-8601 date or instant", e);
+        }
+    }
+
+    private int getInt(final String name, final int defaultValue) {
+        final long value = getLong(name, defaultValue);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Option '--" + name + "' must not exceed " + Integer.MAX_VALUE);
+        }
+        return (int) value;
+    }
+
+    private int getPositiveInt(final String name, final int defaultValue) {
+        final int value = getInt(name, defaultValue);
+        if (value < 1) {
+            throw new IllegalArgumentException("Option '--" + name + "' must be at least 1");
+        }
+        return value;
+    }
+
+    private long getPositiveLong(final String name, final long defaultValue) {
+        final long value = getLong(name, defaultValue);
+        if (value < 1) {
+            throw new IllegalArgumentException("Option '--" + name + "' must be at least 1");
+        }
+        return value;
+    }
+
+    private ScannerOptions validate() {
+        fetchConcurrency();
+        getPositiveInt(FETCH_PER_HOST, FetchPool.DEFAULT_PER_HOST_LIMIT);
+        analysisConcurrency();
+        repositoryTimeout();
+        historyParallelism();
+        historyBatchSize();
+        return this;
+    }
+
+    private boolean getBoolean(final String name, final boolean defaultValue) {
+        final String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Option '--" + name + "' must be true or false");
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private long getLong(final String name, final long defaultValue) {
+        final String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            final long result = Long.parseLong(value);
+            if (result < 0) {
+                throw new IllegalArgumentException("Option '--" + name + "' must not be negative");
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option '--" + name + "' must be a number", e);
+        }
+    }
+
+    public static ScannerOptions defaults() {
+        return new ScannerOptions(Map.of());
+    }
+
+    public static ScannerOptions fromArgs(final String[] args) {
+        Objects.requireNonNull(args, "Args must not be null");
+        final Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unsupported argument '" + arg + "', expected --name=value");
+            }
+            final int separator = arg.indexOf('=');
+            final String name = arg.substring(2, separator);
+            if (!KNOWN_OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option '--" + name + "'");
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+        return new ScannerOptions(values).validate();
+    }
+}
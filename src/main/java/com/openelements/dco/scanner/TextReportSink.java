@@ -0,0 +1,33 @@
+package com.openelements.dco.scanner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+public class TextReportSink implements ReportSink {
+
+    private final BufferedWriter writer;
+
+    public TextReportSink(final Path path) throws IOException {
+        Objects.requireNonNull(path, "Path must not be null");
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void accept(final String repositoryUrl, final List<OutputEntry> entries) throws IOException {
+        for (OutputEntry entry : entries) {
+            writer.write(entry.toString());
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,20 @@
+package com.openelements.dco.scanner;
+
+import java.util.Objects;
+
+public record Trailer(String key, Role role, boolean strict) {
+
+    public Trailer {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("Key must not be null or empty");
+        }
+        if (key.endsWith(":")) {
+            throw new IllegalArgumentException("Key must not end with ':'");
+        }
+        Objects.requireNonNull(role, "Role must not be null");
+    }
+
+    public Trailer(final String key, final Role role) {
+        this(key, role, true);
+    }
+}
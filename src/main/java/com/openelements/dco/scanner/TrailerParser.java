@@ -0,0 +1,183 @@
+package com.openelements.dco.scanner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class TrailerParser {
+
+    private final static Logger log = LoggerFactory.getLogger(TrailerParser.class);
+
+    private final static TrailerParser DEFAULT = new TrailerParser(List.of(
+            new Trailer("Co-authored-by", Role.CO_AUTHER, false),
+            new Trailer("Co-developed-by", Role.CO_AUTHER, false),
+            new Trailer("Signed-off-by", Role.SIGNER, true)));
+
+    private final static String UNKNOWN = "UNKNOWN";
+
+    private final Trailer[] trailers;
+
+    private final String[] tokens;
+
+    private final byte[][] authorTokens;
+
+    public TrailerParser(final List<Trailer> trailers) {
+        Objects.requireNonNull(trailers, "Trailers must not be null");
+        if (trailers.isEmpty()) {
+            throw new IllegalArgumentException("Trailers must not be empty");
+        }
+        this.trailers = trailers.toArray(Trailer[]::new);
+        this.tokens = trailers.stream().map(trailer -> trailer.key() + ":").toArray(String[]::new);
+        this.authorTokens = trailers.stream()
+                .filter(trailer -> trailer.role() == Role.AUTHOR || trailer.role() == Role.CO_AUTHER)
+                .map(trailer -> (trailer.key() + ":").getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+    }
+
+    public List<Trailer> trailers() {
+        return List.of(trailers);
+    }
+
+    public TrailerParser withTrailer(final String key, final Role role) {
+        return withTrailer(key, role, true);
+    }
+
+    public TrailerParser withTrailer(final String key, final Role role, final boolean strict) {
+        final List<Trailer> extended = new ArrayList<>(trailers());
+        extended.add(new Trailer(key, role, strict));
+        return new TrailerParser(extended);
+    }
+
+    public void parse(final String message, final TrailerConsumer consumer) {
+        Objects.requireNonNull(message, "Message must not be null");
+        Objects.requireNonNull(consumer, "Consumer must not be null");
+        final int length = message.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = message.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            for (int i = 0; i < trailers.length; i++) {
+                final Trailer trailer = trailers[i];
+                final String token = tokens[i];
+                if (trailer.strict()) {
+                    if (message.startsWith(token, lineStart)) {
+                        parseStrictValue(message, trailer, lineStart + token.length(), lineEnd, consumer);
+                    }
+                } else {
+                    final int tokenStart = message.indexOf(token, lineStart);
+                    if (tokenStart >= 0 && tokenStart + token.length() <= lineEnd) {
+                        parseLenientValue(message, trailer, tokenStart + token.length(), lineEnd, consumer);
+                    }
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    public boolean containsAuthorTrailer(final byte[] raw, final int start) {
+        Objects.requireNonNull(raw, "Raw must not be null");
+        for (byte[] token : authorTokens) {
+            if (indexOf(raw, start, token) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(final byte[] raw, final int start, final byte[] token) {
+        final int last = raw.length - token.length;
+        outer:
+        for (int i = Math.max(0, start); i <= last; i++) {
+            for (int j = 0; j < token.length; j++) {
+                if (raw[i + j] != token[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static void parseStrictValue(final String message, final Trailer trailer, final int valueStart,
+            final int lineEnd, final TrailerConsumer consumer) {
+        final int start = skipWhitespace(message, valueStart, lineEnd);
+        int end = lineEnd;
+        while (end > start && Character.isWhitespace(message.charAt(end - 1))) {
+            end--;
+        }
+        if (end - start < 3 || message.charAt(end - 1) != '>') {
+            log.warn("Strict mode violation in line: {}", message.substring(valueStart, lineEnd));
+            return;
+        }
+        final int emailStart = message.lastIndexOf('<', end - 2);
+        if (emailStart <= start) {
+            log.warn("Strict mode violation in line: {}", message.substring(valueStart, lineEnd));
+            return;
+        }
+        int nameEnd = emailStart;
+        while (nameEnd > start && Character.isWhitespace(message.charAt(nameEnd - 1))) {
+            nameEnd--;
+        }
+        final String email = message.substring(emailStart + 1, end - 1);
+        if (nameEnd == start || email.isBlank() || email.indexOf(' ') >= 0) {
+            log.warn("Strict mode violation in line: {}", message.substring(valueStart, lineEnd));
+            return;
+        }
+        consumer.accept(trailer, message.substring(start, nameEnd), email);
+    }
+
+    private static void parseLenientValue(final String message, final Trailer trailer, final int valueStart,
+            final int lineEnd, final TrailerConsumer consumer) {
+        final String term = message.substring(valueStart, lineEnd).trim();
+        if (term.isEmpty()) {
+            consumer.accept(trailer, UNKNOWN, UNKNOWN);
+            return;
+        }
+        final int emailStart = term.indexOf('<');
+        final int emailEnd = term.indexOf('>');
+        if (emailStart >= 0 && emailEnd >= 0) {
+            if (emailEnd < emailStart) {
+                consumer.accept(trailer, UNKNOWN, UNKNOWN);
+                return;
+            }
+            consumer.accept(trailer, orUnknown(term.substring(0, emailStart).trim()),
+                    orUnknown(term.substring(emailStart + 1, emailEnd).trim()));
+            return;
+        }
+        final int lastSpace = term.lastIndexOf(' ');
+        if (lastSpace >= 0) {
+            consumer.accept(trailer, orUnknown(term.substring(0, lastSpace).trim()), term.substring(lastSpace + 1));
+        } else if (term.indexOf('@') >= 0) {
+            consumer.accept(trailer, UNKNOWN, term);
+        } else {
+            consumer.accept(trailer, term, UNKNOWN);
+        }
+    }
+
+    private static String orUnknown(final String value) {
+        return value.isBlank() ? UNKNOWN : value;
+    }
+
+    private static int skipWhitespace(final String message, final int start, final int end) {
+        int index = start;
+        while (index < end && Character.isWhitespace(message.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    public static TrailerParser defaultParser() {
+        return DEFAULT;
+    }
+
+    @FunctionalInterface
+    public interface TrailerConsumer {
+
+        void accept(Trailer trailer, String name, String email);
+    }
+}
@@ -0,0 +1,338 @@
+package com.openelements.dco.scanner;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class VerdictCache implements AutoCloseable {
+
+    private final static Logger log = LoggerFactory.getLogger(VerdictCache.class);
+
+    private final static int MAGIC = 0x44434f56;
+
+    private final static int VERSION = 1;
+
+    private final static int HEADER_BYTES = 8;
+
+    private final static byte PERSON = 'P';
+
+    private final static byte COMMIT = 'C';
+
+    private final static int RECORD_HEADER_BYTES = 5;
+
+    private final static int MAX_STRING_BYTES = 0xFFFF;
+
+    private final static int MAX_IDENTITIES = 0xFF;
+
+    private final static long MAX_FILE_BYTES = Integer.MAX_VALUE;
+
+    private final static VerdictCache DISABLED = new VerdictCache(null, null, null);
+
+    private final Path path;
+
+    private final RandomAccessFile file;
+
+    private final FileLock fileLock;
+
+    private final ConcurrentMap<ObjectId, Integer> offsets = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ObjectId, byte[]> appended = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Integer, Identity> identitiesById = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Identity, Integer> idsByIdentity = new ConcurrentHashMap<>();
+
+    private MappedByteBuffer mapped;
+
+    private long size;
+
+    private boolean writable;
+
+    private VerdictCache(final Path path, final RandomAccessFile file, final FileLock fileLock) {
+        this.path = path;
+        this.file = file;
+        this.fileLock = fileLock;
+        this.writable = file != null;
+    }
+
+    public static VerdictCache disabled() {
+        return DISABLED;
+    }
+
+    public static VerdictCache open(final Path path) {
+        Objects.requireNonNull(path, "Path must not be null");
+        RandomAccessFile file = null;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            file = new RandomAccessFile(path.toFile(), "rw");
+            final FileLock fileLock = tryLock(file);
+            if (fileLock == null) {
+                log.warn("Verdict cache {} is used by another scanner, continuing without cache", path);
+                file.close();
+                return DISABLED;
+            }
+            final VerdictCache cache = new VerdictCache(path, file, fileLock);
+            cache.load();
+            log.info("Loaded {} cached commits and {} identities from {}", cache.offsets.size(),
+                    cache.identitiesById.size(), path);
+            return cache;
+        } catch (IOException e) {
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+            throw new RuntimeException("Error while opening verdict cache " + path, e);
+        }
+    }
+
+    private static FileLock tryLock(final RandomAccessFile file) throws IOException {
+        try {
+            return file.getChannel().tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public int size() {
+        return offsets.size() + appended.size();
+    }
+
+    public CachedCommit get(final AnyObjectId commitId) {
+        if (file == null) {
+            return null;
+        }
+        try {
+            final Integer offset = offsets.get(commitId);
+            if (offset != null) {
+                final int length = mapped.getInt(offset + 1);
+                return readCommit(mapped.slice(offset + RECORD_HEADER_BYTES, length));
+            }
+            final byte[] record = appended.get(commitId);
+            if (record != null) {
+                return readCommit(ByteBuffer.wrap(record));
+            }
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable verdict cache entry for {}", commitId.name(), e);
+            return null;
+        }
+    }
+
+    public synchronized void put(final Commit commit) {
+        Objects.requireNonNull(commit, "Commit must not be null");
+        if (!writable) {
+            return;
+        }
+        final ObjectId commitId = ObjectId.fromString(commit.identifier());
+        if (offsets.containsKey(commitId) || appended.containsKey(commitId)) {
+            return;
+        }
+        final CachedCommit cached = CachedCommit.of(commit);
+        if (cached.identities().size() > MAX_IDENTITIES) {
+            log.debug("Not caching commit {} with {} identities", commit.identifier(), cached.identities().size());
+            return;
+        }
+        final List<Identity> added = new ArrayList<>();
+        final List<ByteBuffer> persons = new ArrayList<>();
+        final int[] personIds = new int[cached.identities().size()];
+        for (int i = 0; i < personIds.length; i++) {
+            final CachedCommit.Identity identity = cached.identities().get(i);
+            final Identity key = new Identity(identity.name(), identity.email());
+            final Integer id = idsByIdentity.get(key);
+            final int index = added.indexOf(key);
+            if (id != null) {
+                personIds[i] = id;
+            } else if (index >= 0) {
+                personIds[i] = identitiesById.size() + index;
+            } else {
+                final byte[] name = identity.name().getBytes(StandardCharsets.UTF_8);
+                final byte[] email = identity.email().getBytes(StandardCharsets.UTF_8);
+                if (name.length > MAX_STRING_BYTES || email.length > MAX_STRING_BYTES) {
+                    log.debug("Not caching commit {} with oversized identity", commit.identifier());
+                    return;
+                }
+                personIds[i] = identitiesById.size() + added.size();
+                added.add(key);
+                final int length = 4 + name.length + email.length;
+                persons.add(ByteBuffer.allocate(RECORD_HEADER_BYTES + length)
+                        .put(PERSON).putInt(length)
+                        .putShort((short) name.length).put(name)
+                        .putShort((short) email.length).put(email));
+            }
+        }
+        final byte[] subject = truncate(cached.subject().getBytes(StandardCharsets.UTF_8));
+        final int length = Constants.OBJECT_ID_LENGTH + 8 + 4 + 2 + subject.length + 1 + personIds.length * 5;
+        final ByteBuffer record = ByteBuffer.allocate(length);
+        commitId.copyRawTo(record);
+        record.putLong(cached.epochSecond()).putInt(cached.offsetSeconds())
+                .putShort((short) subject.length).put(subject)
+                .put((byte) personIds.length);
+        for (int i = 0; i < personIds.length; i++) {
+            record.putInt(personIds[i]).put((byte) cached.identities().get(i).roles());
+        }
+        final long recordsBytes = persons.stream().mapToLong(ByteBuffer::capacity).sum()
+                + RECORD_HEADER_BYTES + length;
+        if (size + recordsBytes > MAX_FILE_BYTES) {
+            log.warn("Verdict cache {} reached its maximum size, no further commits are stored", path);
+            writable = false;
+            return;
+        }
+        try {
+            file.seek(size);
+            for (ByteBuffer person : persons) {
+                file.write(person.array());
+            }
+            file.writeByte(COMMIT);
+            file.writeInt(length);
+            file.write(record.array());
+            size += recordsBytes;
+        } catch (IOException e) {
+            log.warn("Error while writing verdict cache {}, continuing without storing new commits", path, e);
+            writable = false;
+            return;
+        }
+        for (Identity identity : added) {
+            final int id = identitiesById.size();
+            identitiesById.put(id, identity);
+            idsByIdentity.put(identity, id);
+        }
+        appended.put(commitId, record.array());
+    }
+
+    private void load() throws IOException {
+        final long fileSize = file.length();
+        if (fileSize < HEADER_BYTES || fileSize > MAX_FILE_BYTES) {
+            reset();
+            return;
+        }
+        mapped = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            log.warn("Discarding verdict cache {} with unknown format", path);
+            mapped = null;
+            reset();
+            return;
+        }
+        int position = HEADER_BYTES;
+        try {
+            while (position < fileSize) {
+                if (position + RECORD_HEADER_BYTES > fileSize) {
+                    throw new IOException("Incomplete record header");
+                }
+                final byte type = mapped.get(position);
+                final int length = mapped.getInt(position + 1);
+                if (length < 0 || position + RECORD_HEADER_BYTES + (long) length > fileSize) {
+                    throw new IOException("Incomplete record");
+                }
+                final ByteBuffer record = mapped.slice(position + RECORD_HEADER_BYTES, length);
+                if (type == PERSON) {
+                    final Identity identity = new Identity(readString(record), readString(record));
+                    final int id = identitiesById.size();
+                    identitiesById.put(id, identity);
+                    idsByIdentity.put(identity, id);
+                } else if (type == COMMIT) {
+                    offsets.put(ObjectId.fromRaw(readBytes(record, Constants.OBJECT_ID_LENGTH)), position);
+                } else {
+                    throw new IOException("Unknown record type " + type);
+                }
+                position += RECORD_HEADER_BYTES + length;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Truncating verdict cache {} at {} of {} bytes: {}", path, position, fileSize, e.getMessage());
+            file.setLength(position);
+        }
+        size = position;
+    }
+
+    private void reset() throws IOException {
+        file.setLength(0);
+        file.seek(0);
+        file.writeInt(MAGIC);
+        file.writeInt(VERSION);
+        size = HEADER_BYTES;
+    }
+
+    private CachedCommit readCommit(final ByteBuffer record) throws IOException {
+        final ObjectId commitId = ObjectId.fromRaw(readBytes(record, Constants.OBJECT_ID_LENGTH));
+        final long epochSecond = record.getLong();
+        final int offsetSeconds = record.getInt();
+        final String subject = readString(record);
+        final int count = Byte.toUnsignedInt(record.get());
+        final List<CachedCommit.Identity> identities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Identity identity = identitiesById.get(record.getInt());
+            final int roles = Byte.toUnsignedInt(record.get());
+            if (identity == null) {
+                throw new IOException("Unknown identity in cached commit " + commitId.name());
+            }
+            identities.add(new CachedCommit.Identity(identity.name(), identity.email(), roles));
+        }
+        return new CachedCommit(commitId.name(), epochSecond, offsetSeconds, subject, identities);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        return new String(readBytes(buffer, Short.toUnsignedInt(buffer.getShort())), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(final ByteBuffer buffer, final int length) {
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] truncate(final byte[] bytes) {
+        if (bytes.length <= MAX_STRING_BYTES) {
+            return bytes;
+        }
+        int end = MAX_STRING_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        final byte[] truncated = new byte[end];
+        System.arraycopy(bytes, 0, truncated, 0, end);
+        return truncated;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (file == null) {
+            return;
+        }
+        writable = false;
+        try (file) {
+            if (fileLock.isValid()) {
+                fileLock.release();
+            }
+        } catch (IOException e) {
+            log.warn("Error while closing verdict cache {}", path, e);
+        }
+    }
+
+    private record Identity(String name, String email) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.openelements.dco.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FetchPoolTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fallsBackToCompleteClonesWhenFilterIsNotAllowed() throws Exception {
+        final Path repository = directory.resolve("org/unfiltered");
+        try (Git source = Git.init().setDirectory(repository.toFile()).setInitialBranch("main").call()) {
+            setAllowFilter(source, false);
+            final RevCommit first = commitFile(source, "first");
+            final String repositoryUrl = repository.toUri().toString();
+            final FetchPool fetchPool = new FetchPool(2, FetchPool.filterOf(FetchPool.DEFAULT_FILTER));
+            try (MirrorCache mirrorCache = new MirrorCache(directory.resolve("mirrors"), Long.MAX_VALUE, false,
+                    fetchPool)) {
+                try (Mirror mirror = mirrorCache.acquire(repositoryUrl)) {
+                    assertTrue(hasBlobOf(mirror, first));
+                }
+                assertFalse(fetchPool.isFilterSupported(repositoryUrl));
+
+                final RevCommit second = commitFile(source, "second");
+                try (Mirror mirror = mirrorCache.acquire(repositoryUrl)) {
+                    assertEquals(second, head(mirror));
+                    assertTrue(hasBlobOf(mirror, second));
+                }
+                assertFalse(fetchPool.isFilterSupported(repositoryUrl));
+            }
+        }
+    }
+
+    @Test
+    void clonesPartialMirrorsAndFetchesIncrementallyWhenFilterIsAllowed() throws Exception {
+        final Path repository = directory.resolve("org/filtered");
+        try (Git source = Git.init().setDirectory(repository.toFile()).setInitialBranch("main").call()) {
+            setAllowFilter(source, true);
+            final RevCommit first = commitFile(source, "first");
+            final String repositoryUrl = repository.toUri().toString();
+            final FetchPool fetchPool = new FetchPool(2, FetchPool.filterOf(FetchPool.DEFAULT_FILTER));
+            try (MirrorCache mirrorCache = new MirrorCache(directory.resolve("mirrors"), Long.MAX_VALUE, false,
+                    fetchPool)) {
+                try (Mirror mirror = mirrorCache.acquire(repositoryUrl)) {
+                    assertEquals(first, head(mirror));
+                    assertFalse(hasBlobOf(mirror, first));
+                }
+                assertTrue(fetchPool.isFilterSupported(repositoryUrl));
+
+                final RevCommit second = commitFile(source, "second");
+                try (Mirror mirror = mirrorCache.acquire(repositoryUrl)) {
+                    assertEquals(second, head(mirror));
+                    assertTrue(mirror.git().getRepository().getObjectDatabase().has(second.getTree()));
+                    assertFalse(hasBlobOf(mirror, second));
+                }
+                assertTrue(fetchPool.isFilterSupported(repositoryUrl));
+            }
+        }
+    }
+
+    private static void setAllowFilter(final Git git, final boolean allowFilter) throws Exception {
+        final StoredConfig config = git.getRepository().getConfig();
+        config.setBoolean("uploadpack", null, "allowfilter", allowFilter);
+        config.save();
+    }
+
+    private static RevCommit commitFile(final Git git, final String content) throws Exception {
+        final Path file = git.getRepository().getWorkTree().toPath().resolve(content + ".txt");
+        Files.writeString(file, content);
+        git.add().addFilepattern(file.getFileName().toString()).call();
+        final PersonIdent author = new PersonIdent("Jane Doe", "jane@example.com");
+        return git.commit().setAuthor(author).setCommitter(author).setMessage("Add " + content).call();
+    }
+
+    private static ObjectId head(final Mirror mirror) throws Exception {
+        return mirror.git().getRepository().resolve(Constants.HEAD);
+    }
+
+    private static boolean hasBlobOf(final Mirror mirror, final RevCommit commit) throws Exception {
+        final String path = commit.getShortMessage().substring("Add ".length()) + ".txt";
+        try (TreeWalk treeWalk = TreeWalk.forPath(mirror.git().getRepository(), path, commit.getTree())) {
+            return mirror.git().getRepository().getObjectDatabase().has(treeWalk.getObjectId(0));
+        }
+    }
+}
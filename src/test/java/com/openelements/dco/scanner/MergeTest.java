@@ -0,0 +1,105 @@
+package com.openelements.dco.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MergeTest {
+
+    private final static Role[] TRAILER_ROLES = {Role.SIGNER, Role.CO_AUTHER};
+
+    @Test
+    void mergeMatchesPreviousSemanticsForManyTrailers() {
+        final Random random = new Random(42);
+        for (int commit = 0; commit < 2_000; commit++) {
+            final Set<Person> basicPersons = new HashSet<>();
+            basicPersons.add(person(randomEmail(random), Role.AUTHOR));
+            if (random.nextBoolean()) {
+                basicPersons.add(person(randomEmail(random), Role.COMMITTER));
+            }
+            final Set<Person> trailerPersons = new LinkedHashSet<>();
+            final int trailers = random.nextInt(61);
+            for (int i = 0; i < trailers; i++) {
+                trailerPersons.add(person(randomEmail(random), TRAILER_ROLES[random.nextInt(TRAILER_ROLES.length)]));
+            }
+
+            final Set<Person> expected = previousMerge(basicPersons, trailerPersons);
+            final Set<Person> actual = CommitFactory.merge(new ArrayList<>(basicPersons),
+                    new ArrayList<>(trailerPersons));
+
+            assertEquals(expected, actual, "Merged persons differ for commit " + commit);
+            assertEquals(isValid(expected), isValid(actual), "Verdict differs for commit " + commit);
+        }
+    }
+
+    @Test
+    void mergeKeepsEmailsThatOnlyDifferInCaseApart() {
+        final Person author = person("Jane.Doe@Example.com", Role.AUTHOR);
+        final Person signer = person("jane.doe@example.com", Role.SIGNER);
+
+        final Set<Person> expected = previousMerge(Set.of(author), Set.of(signer));
+        final Set<Person> actual = CommitFactory.merge(List.of(author), List.of(signer));
+
+        assertEquals(expected, actual);
+        assertEquals(2, actual.size());
+        assertFalse(isValid(actual));
+    }
+
+    @Test
+    void mergeKeepsFirstNameAndCombinesRoles() {
+        final Person author = PersonFactory.getInstance().create("Jane Doe", "jane@example.com",
+                Roles.of(Role.AUTHOR));
+        final Person signer = PersonFactory.getInstance().create("J. Doe", "jane@example.com",
+                Roles.of(Role.SIGNER));
+
+        final Set<Person> actual = CommitFactory.merge(List.of(author), List.of(signer));
+
+        assertEquals(Set.of(PersonFactory.getInstance().create("Jane Doe", "jane@example.com",
+                Roles.of(Set.of(Role.AUTHOR, Role.SIGNER)))), actual);
+    }
+
+    private static Person person(final String email, final Role role) {
+        return PersonFactory.getInstance().create("Person " + email.toLowerCase(Locale.ROOT), email, Roles.of(role));
+    }
+
+    private static String randomEmail(final Random random) {
+        final String email = "user" + random.nextInt(20) + "@example.com";
+        return random.nextInt(4) == 0 ? email.toUpperCase(Locale.ROOT) : email;
+    }
+
+    private static boolean isValid(final Set<Person> persons) {
+        return persons.stream().allMatch(Person::isValid);
+    }
+
+    @SafeVarargs
+    private static Set<Person> previousMerge(final Set<Person>... sets) {
+        final Set<Person> merged = new HashSet<>();
+        for (Set<Person> set : sets) {
+            set.forEach(person -> {
+                final Optional<Person> existingPerson = merged.stream()
+                        .filter(p -> Objects.equals(p.email(), person.email())).findAny();
+                if (existingPerson.isPresent()) {
+                    final Set<Role> mergedRoles = new HashSet<>(existingPerson.get().roles());
+                    mergedRoles.addAll(person.roles());
+                    final Person updatedPerson = PersonFactory.getInstance()
+                            .create(existingPerson.get().name(), existingPerson.get().email(), mergedRoles);
+                    merged.remove(existingPerson.get());
+                    merged.add(updatedPerson);
+                } else {
+                    merged.add(person);
+                }
+            });
+        }
+        return merged;
+    }
+}
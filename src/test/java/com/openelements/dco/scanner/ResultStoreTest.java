@@ -0,0 +1,147 @@
+package com.openelements.dco.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultStoreTest {
+
+    private final static String FIRST_REPOSITORY = "https://github.com/org/first";
+
+    private final static String SECOND_REPOSITORY = "https://github.com/org/second";
+
+    private final static String SCOPE_KEY = "HEAD";
+
+    @TempDir
+    Path directory;
+
+    private Commit signedInJanuary;
+
+    private Commit unsignedInFebruary;
+
+    private Commit otherUnsignedInFebruary;
+
+    @BeforeEach
+    void createCommits() throws Exception {
+        signedInJanuary = commit("Jane Doe", "jane@example.com", "2024-01-15T10:00:00Z", true);
+        unsignedInFebruary = commit("Jane Doe", "jane@example.com", "2024-02-01T10:00:00Z", false);
+        otherUnsignedInFebruary = commit("John Smith", "john@example.com", "2024-02-29T23:00:00Z", false);
+    }
+
+    @Test
+    void aggregatesCommitsAndViolations() {
+        final ResultStore store = fixture();
+
+        assertEquals(3, store.commitCount());
+        assertEquals(List.of(new ResultStore.Aggregate(FIRST_REPOSITORY, 2, 1),
+                new ResultStore.Aggregate(SECOND_REPOSITORY, 1, 1)), store.byRepository());
+        assertEquals(List.of(new ResultStore.Aggregate("Jane Doe <jane@example.com>", 2, 1),
+                new ResultStore.Aggregate("John Smith <john@example.com>", 1, 1)), store.byContributor());
+        assertEquals(List.of(new ResultStore.Aggregate("2024-01", 1, 0),
+                new ResultStore.Aggregate("2024-02", 2, 2)), store.byMonth());
+    }
+
+    @Test
+    void loadedStoreEqualsWrittenStore() throws Exception {
+        final Path path = directory.resolve("store/results.bin");
+        final ResultStore store = fixture();
+        store.write(path);
+
+        final ResultStore loaded = ResultStore.load(path);
+
+        assertTrue(loaded.isEnabled());
+        assertEquals(store.commitCount(), loaded.commitCount());
+        assertEquals(store.byRepository(), loaded.byRepository());
+        assertEquals(store.byContributor(), loaded.byContributor());
+        assertEquals(store.byMonth(), loaded.byMonth());
+        assertTrue(loaded.covers(FIRST_REPOSITORY, SCOPE_KEY, List.of("tip-1")));
+        assertTrue(loaded.covers(SECOND_REPOSITORY, SCOPE_KEY, List.of("tip-2")));
+    }
+
+    @Test
+    void incrementalScanAppendsToPublishedSegment() {
+        final ResultStore store = ResultStore.create();
+        store.begin(FIRST_REPOSITORY, SCOPE_KEY, false);
+        store.record(FIRST_REPOSITORY, signedInJanuary);
+        store.publish(FIRST_REPOSITORY, List.of("tip-1"));
+
+        store.begin(FIRST_REPOSITORY, SCOPE_KEY, true);
+        store.record(FIRST_REPOSITORY, unsignedInFebruary);
+        assertEquals(1, store.commitCount());
+        store.publish(FIRST_REPOSITORY, List.of("tip-2"));
+
+        assertEquals(2, store.commitCount());
+        assertEquals(List.of(new ResultStore.Aggregate(FIRST_REPOSITORY, 2, 1)), store.byRepository());
+        assertTrue(store.covers(FIRST_REPOSITORY, SCOPE_KEY, List.of("tip-2")));
+
+        store.begin(FIRST_REPOSITORY, SCOPE_KEY, false);
+        store.record(FIRST_REPOSITORY, unsignedInFebruary);
+        store.publish(FIRST_REPOSITORY, List.of("tip-3"));
+
+        assertEquals(List.of(new ResultStore.Aggregate(FIRST_REPOSITORY, 1, 1)), store.byRepository());
+    }
+
+    @Test
+    void discardKeepsPublishedSegment() {
+        final ResultStore store = ResultStore.create();
+        store.begin(FIRST_REPOSITORY, SCOPE_KEY, false);
+        store.record(FIRST_REPOSITORY, signedInJanuary);
+        store.publish(FIRST_REPOSITORY, List.of("tip-1"));
+
+        store.begin(FIRST_REPOSITORY, SCOPE_KEY, true);
+        store.record(FIRST_REPOSITORY, unsignedInFebruary);
+        store.discard(FIRST_REPOSITORY);
+        store.record(FIRST_REPOSITORY, otherUnsignedInFebruary);
+
+        assertEquals(List.of(new ResultStore.Aggregate(FIRST_REPOSITORY, 1, 0)), store.byRepository());
+        assertTrue(store.covers(FIRST_REPOSITORY, SCOPE_KEY, List.of("tip-1")));
+    }
+
+    @Test
+    void coversOnlyPublishedScopeAndTips() {
+        final ResultStore store = fixture();
+
+        assertTrue(store.covers(FIRST_REPOSITORY, SCOPE_KEY, List.of("tip-1")));
+        assertFalse(store.covers(FIRST_REPOSITORY, SCOPE_KEY, List.of("tip-2")));
+        assertFalse(store.covers(FIRST_REPOSITORY, SCOPE_KEY, List.of()));
+        assertFalse(store.covers(FIRST_REPOSITORY, "refs/heads/*", List.of("tip-1")));
+        assertFalse(store.covers("https://github.com/org/unknown", SCOPE_KEY, List.of("tip-1")));
+        assertFalse(ResultStore.create().covers(FIRST_REPOSITORY, SCOPE_KEY, List.of()));
+        assertTrue(ResultStore.disabled().covers(FIRST_REPOSITORY, SCOPE_KEY, List.of()));
+    }
+
+    private ResultStore fixture() {
+        final ResultStore store = ResultStore.create();
+        store.begin(FIRST_REPOSITORY, SCOPE_KEY, false);
+        store.record(FIRST_REPOSITORY, signedInJanuary);
+        store.record(FIRST_REPOSITORY, CachedCommit.of(unsignedInFebruary));
+        store.publish(FIRST_REPOSITORY, List.of("tip-1"));
+        store.begin(SECOND_REPOSITORY, SCOPE_KEY, false);
+        store.record(SECOND_REPOSITORY, otherUnsignedInFebruary);
+        store.publish(SECOND_REPOSITORY, List.of("tip-2"));
+        return store;
+    }
+
+    private static Commit commit(final String name, final String email, final String time, final boolean signed)
+            throws Exception {
+        final PersonIdent person = new PersonIdent(name, email, Instant.parse(time), ZoneOffset.UTC);
+        final CommitBuilder builder = new CommitBuilder();
+        builder.setTreeId(ObjectId.zeroId());
+        builder.setAuthor(person);
+        builder.setCommitter(person);
+        builder.setMessage("Commit at " + time + (signed ? "\n\nSigned-off-by: " + name + " <" + email + ">" : ""));
+        return CommitFactory.of(RevCommit.parse(builder.build()));
+    }
+}
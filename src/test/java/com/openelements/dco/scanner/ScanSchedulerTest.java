@@ -0,0 +1,119 @@
+package com.openelements.dco.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.errors.TransportException;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ScanSchedulerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void timedOutAnalysisStopsWithoutStoringResults() throws Exception {
+        final Path repository = directory.resolve("org/slow");
+        createRepository(repository, 50, false);
+        final String repositoryUrl = repository.toUri().toString();
+        final CheckpointStore checkpointStore = new CheckpointStore(directory.resolve("checkpoints"));
+        final AtomicInteger emitted = new AtomicInteger();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final CommitSource slowSource = (git, range, metrics) -> CommitFactory.streamNonValidIn(git, range, metrics)
+                .map(commit -> {
+                    emitted.incrementAndGet();
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return commit;
+                })
+                .onClose(() -> closed.set(true));
+        final List<ScanResult> results = new ArrayList<>();
+        try (MirrorCache mirrorCache = new MirrorCache(directory.resolve("mirrors"), Long.MAX_VALUE)) {
+            final RepositoryScanner repositoryScanner = new RepositoryScanner(checkpointStore, mirrorCache,
+                    slowSource, new MetricsRegistry());
+            try (ScanScheduler scheduler = new ScanScheduler(repositoryScanner, 1, 1, Duration.ofSeconds(1), 0)) {
+                scheduler.scan(List.of(repositoryUrl), result -> {
+                    assertTrue(closed.get(), "Analysis must be finished before the result is reported");
+                    results.add(result);
+                });
+            }
+        }
+
+        assertEquals(1, results.size());
+        assertInstanceOf(TimeoutException.class, results.get(0).failure());
+        assertTrue(emitted.get() < 50, "Analysis must stop after it was cancelled");
+        assertTrue(checkpointStore.load(repositoryUrl, ScanScope.head().key()).isEmpty());
+        assertTrue(Files.notExists(Path.of("out/org/slow.txt")));
+    }
+
+    @Test
+    void throttledHostDoesNotBlockFetchesFromOtherHosts() throws Exception {
+        final Path repository = directory.resolve("org/fast");
+        createRepository(repository, 3, true);
+        final String repositoryUrl = repository.toUri().toString();
+        final String throttledUrl = "http://127.0.0.1:1/org/throttled";
+        final FetchPool fetchPool = new FetchPool(1, FetchPool.filterOf(FetchPool.NO_FILTER));
+        try (FetchPool.Reservation reservation = fetchPool.reserve(throttledUrl)) {
+            for (int i = 0; i < 3; i++) {
+                assertThrows(TransportException.class, () -> fetchPool.listRemote(throttledUrl, transport -> {
+                    throw new TransportException("Connection refused");
+                }));
+            }
+        }
+        assertTrue(fetchPool.remainingBackoffMillis(throttledUrl) >= 1_000);
+        final CheckpointStore checkpointStore = new CheckpointStore(directory.resolve("checkpoints"));
+        try (MirrorCache mirrorCache = new MirrorCache(directory.resolve("mirrors"), Long.MAX_VALUE, false,
+                fetchPool)) {
+            final RepositoryScanner repositoryScanner = new RepositoryScanner(checkpointStore, mirrorCache);
+            try (ScanScheduler scheduler = new ScanScheduler(repositoryScanner, 1, 1, Duration.ofMinutes(1), 0)) {
+                final List<ScanResult> throttledResults = new CopyOnWriteArrayList<>();
+                final Thread throttledScan = Thread.ofVirtual().start(
+                        () -> scheduler.scan(List.of(throttledUrl), throttledResults::add));
+                Thread.sleep(200);
+
+                final List<ScanResult> results = new ArrayList<>();
+                scheduler.scan(List.of(repositoryUrl), result -> {
+                    assertTrue(throttledResults.isEmpty(),
+                            "Repository must be fetched while the other host is still throttled");
+                    results.add(result);
+                });
+
+                assertEquals(1, results.size());
+                assertTrue(results.get(0).isSuccess());
+                throttledScan.join(Duration.ofSeconds(30));
+                assertEquals(1, throttledResults.size());
+                assertFalse(throttledResults.get(0).isSuccess());
+            }
+        }
+    }
+
+    private static void createRepository(final Path path, final int commits, final boolean signed)
+            throws Exception {
+        try (Git git = Git.init().setDirectory(path.toFile()).setInitialBranch("main").call()) {
+            final PersonIdent author = new PersonIdent("Jane Doe", "jane@example.com");
+            for (int i = 0; i < commits; i++) {
+                git.commit().setAllowEmpty(true).setAuthor(author).setCommitter(author)
+                        .setMessage("Commit " + i + (signed ? "\n\nSigned-off-by: Jane Doe <jane@example.com>" : ""))
+                        .call();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.openelements.dco.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.transport.RefSpec;
+import org.junit.jupiter.api.Test;
+
+class ScanScopeTest {
+
+    private final static ObjectId MAIN = ObjectId.fromString("1111111111111111111111111111111111111111");
+
+    private final static ObjectId FEATURE = ObjectId.fromString("2222222222222222222222222222222222222222");
+
+    private final static ObjectId RELEASE = ObjectId.fromString("3333333333333333333333333333333333333333");
+
+    private final static Map<String, ObjectId> REFS = Map.of(Constants.HEAD, MAIN,
+            "refs/heads/main", MAIN,
+            "refs/heads/feature/login", FEATURE,
+            "refs/tags/v1.0", RELEASE);
+
+    @Test
+    void rangeExcludesItsStartAndIncludesItsEnd() {
+        final ScanScope scope = ScanScope.of(List.of("v1.0..main"), List.of(), null, null, false);
+
+        assertEquals(List.of("main"), scope.revisions());
+        assertEquals(List.of("v1.0"), scope.excludes());
+        assertEquals("main,^v1.0", scope.key());
+        assertEquals(Optional.of(List.of(MAIN.name(), "^" + RELEASE.name())), scope.tips(REFS));
+    }
+
+    @Test
+    void caretRevisionsAreExcluded() {
+        final ScanScope scope = ScanScope.of(List.of("refs/heads/feature/login", "^refs/tags/v1.0"),
+                List.of("main"), null, null, false);
+
+        assertEquals(List.of("refs/heads/feature/login"), scope.revisions());
+        assertEquals(List.of("main", "refs/tags/v1.0"), scope.excludes());
+        assertEquals(Optional.of(List.of(FEATURE.name(), "^" + MAIN.name(), "^" + RELEASE.name())),
+                scope.tips(REFS));
+        assertEquals(List.of(FEATURE), ScanScope.included(scope.tips(REFS).orElseThrow()));
+        assertEquals(List.of(MAIN, RELEASE), ScanScope.excluded(scope.tips(REFS).orElseThrow()));
+    }
+
+    @Test
+    void globMatchesAllBranches() {
+        final ScanScope scope = ScanScope.of(List.of("refs/heads/*"), List.of(), null, null, false);
+
+        assertEquals(Optional.of(List.of(MAIN.name(), FEATURE.name())), scope.tips(REFS));
+        assertEquals(List.of(new RefSpec("+refs/heads/*:refs/heads/*")), scope.refSpecs());
+        assertEquals(Optional.of(List.of()),
+                ScanScope.of(List.of("refs/remotes/*"), List.of(), null, null, false).tips(REFS));
+    }
+
+    @Test
+    void defaultScopeKeyStaysHead() {
+        assertEquals(Constants.HEAD, ScanScope.head().key());
+        assertEquals(Constants.HEAD, ScanScope.of(List.of(Constants.HEAD), List.of(), null, null, false).key());
+        assertEquals(Optional.of(List.of(MAIN.name())), ScanScope.head().tips(REFS));
+
+        final Instant since = Instant.parse("2024-01-01T00:00:00Z");
+        assertEquals("HEAD,since=2024-01-01T00:00:00Z",
+                ScanScope.of(List.of(Constants.HEAD), List.of(), since, null, false).key());
+    }
+
+    @Test
+    void refSpecsAreEmptyForRevisionsOutsideRefs() {
+        assertTrue(ScanScope.head().refSpecs().isEmpty());
+        assertTrue(ScanScope.of(List.of("main"), List.of(), null, null, false).refSpecs().isEmpty());
+        assertTrue(ScanScope.of(List.of("refs/heads/main", "v1.0"), List.of(), null, null, false)
+                .refSpecs().isEmpty());
+        assertTrue(ScanScope.of(List.of("refs/heads/*/*"), List.of(), null, null, false).refSpecs().isEmpty());
+        assertEquals(List.of(new RefSpec("+refs/heads/main:refs/heads/main")),
+                ScanScope.of(List.of("refs/heads/main", RELEASE.name()), List.of(), null, null, false).refSpecs());
+    }
+
+    @Test
+    void unknownShortNamesCannotBeResolvedFromAdvertisedRefs() {
+        assertEquals(Optional.empty(), ScanScope.of(List.of("develop"), List.of(), null, null, false).tips(REFS));
+        assertEquals(Optional.of(List.of()),
+                ScanScope.of(List.of("refs/heads/develop"), List.of(), null, null, false).tips(REFS));
+    }
+}
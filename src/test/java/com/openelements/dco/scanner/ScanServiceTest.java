@@ -0,0 +1,151 @@
+package com.openelements.dco.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ScanServiceTest {
+
+    private final static String ORG = "scan-service-test";
+
+    private final static String IDLE_STATUS = "\"queued\": [], \"running\": []";
+
+    @TempDir
+    Path directory;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void deleteReports() throws IOException {
+        final Path reports = Path.of("out", ORG);
+        if (Files.exists(reports)) {
+            try (Stream<Path> paths = Files.walk(reports)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        try (Stream<Path> entries = Files.list(reports.getParent())) {
+            if (entries.findAny().isEmpty()) {
+                Files.delete(reports.getParent());
+            }
+        } catch (NoSuchFileException e) {
+            // no reports were written
+        }
+    }
+
+    @Test
+    void repeatedSubmissionsScanTheRepositoryOnce() throws Exception {
+        final Path repository = directory.resolve(ORG).resolve("service");
+        createRepository(repository, 3);
+        final String repositoryUrl = "file://" + repository;
+        final CheckpointStore checkpointStore = new CheckpointStore(directory.resolve("checkpoints"));
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        final AtomicInteger analyses = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CommitSource blockingSource = (git, range, metrics) -> {
+            analyses.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CommitFactory.streamNonValidIn(git, range, metrics);
+        };
+        try (MirrorCache mirrorCache = new MirrorCache(directory.resolve("mirrors"), Long.MAX_VALUE)) {
+            final RepositoryScanner repositoryScanner = new RepositoryScanner(checkpointStore, mirrorCache,
+                    blockingSource, metricsRegistry);
+            try (ScanScheduler scheduler = new ScanScheduler(repositoryScanner, 2, 2, Duration.ofMinutes(1), 0);
+                    ScanService service = new ScanService(scheduler, checkpointStore, ScanScope.head(), mirrorCache,
+                            metricsRegistry, List.of(repositoryUrl), 2)) {
+                final InetSocketAddress address = service.start(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                final String baseUrl = "http://" + address.getHostString() + ":" + address.getPort();
+                final String query = "?repository=" + URLEncoder.encode(repositoryUrl, StandardCharsets.UTF_8);
+
+                assertEquals(404, get(baseUrl + "/results" + query).statusCode());
+
+                final HttpResponse<String> first = post(baseUrl + "/scan" + query, "");
+                assertEquals(202, first.statusCode());
+                assertTrue(first.body().contains("\"queued\": true"), first.body());
+                assertTrue(started.await(30, TimeUnit.SECONDS), "Scan must start");
+
+                final HttpResponse<String> webhook = post(baseUrl + "/webhook",
+                        "{\"repository\": {\"clone_url\": \"" + repositoryUrl + ".git\"}}");
+                assertEquals(202, webhook.statusCode());
+                assertTrue(webhook.body().contains("\"queued\": true"), webhook.body());
+                final HttpResponse<String> duplicate = post(baseUrl + "/scan" + query, "");
+                assertEquals(202, duplicate.statusCode());
+                assertTrue(duplicate.body().contains("\"queued\": false"), duplicate.body());
+
+                final String status = get(baseUrl + "/status").body();
+                final String quotedUrl = Json.quote(repositoryUrl);
+                assertTrue(status.contains("\"queued\": [" + quotedUrl + "], \"running\": [" + quotedUrl + "]"),
+                        status);
+
+                release.countDown();
+                awaitIdle(baseUrl);
+
+                assertEquals(1, analyses.get());
+                final String idleStatus = get(baseUrl + "/status").body();
+                assertTrue(idleStatus.contains("\"commitsWalked\": 3"), idleStatus);
+                final HttpResponse<String> results = get(baseUrl + "/results" + query);
+                assertEquals(200, results.statusCode());
+                assertEquals(3, results.body().split("\"commit\": ").length - 1, results.body());
+                assertTrue(results.body().contains("\"email\": \"jane@example.com\""), results.body());
+            }
+        }
+    }
+
+    private void awaitIdle(final String baseUrl) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!get(baseUrl + "/status").body().contains(IDLE_STATUS)) {
+            assertTrue(System.nanoTime() < deadline, "Scans must finish");
+            Thread.sleep(50);
+        }
+    }
+
+    private HttpResponse<String> get(final String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(final String url, final String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void createRepository(final Path path, final int commits) throws Exception {
+        try (Git git = Git.init().setDirectory(path.toFile()).setInitialBranch("main").call()) {
+            final PersonIdent author = new PersonIdent("Jane Doe", "jane@example.com");
+            for (int i = 0; i < commits; i++) {
+                git.commit().setAllowEmpty(true).setAuthor(author).setCommitter(author)
+                        .setMessage("Commit " + i).call();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.openelements.dco.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ScannerOptionsTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {ScannerOptions.HISTORY_PARALLELISM, ScannerOptions.HISTORY_BATCH_SIZE,
+            ScannerOptions.FETCH_CONCURRENCY, ScannerOptions.ANALYSIS_CONCURRENCY, ScannerOptions.FETCH_PER_HOST,
+            ScannerOptions.REPOSITORY_TIMEOUT_SECONDS})
+    void rejectsZeroWhenParsing(final String name) {
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ScannerOptions.fromArgs(new String[]{"--" + name + "=0"}));
+
+        assertEquals("Option '--" + name + "' must be at least 1", e.getMessage());
+    }
+
+    @Test
+    void acceptsPositiveValues() {
+        final ScannerOptions options = ScannerOptions.fromArgs(new String[]{"--history-parallelism=4",
+                "--history-batch-size=1", "--fetch-concurrency=2", "--analysis-concurrency=3"});
+
+        assertEquals(4, options.historyParallelism());
+        assertEquals(1, options.historyBatchSize());
+        assertEquals(2, options.fetchConcurrency());
+        assertEquals(3, options.analysisConcurrency());
+    }
+
+    @Test
+    void verdictCacheIsOptIn() {
+        assertFalse(ScannerOptions.fromArgs(new String[0]).verdictCache());
+        assertTrue(ScannerOptions.fromArgs(new String[]{"--verdict-cache=true"}).verdictCache());
+    }
+}
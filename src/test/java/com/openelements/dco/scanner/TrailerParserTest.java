@@ -0,0 +1,120 @@
+package com.openelements.dco.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.Test;
+
+class TrailerParserTest {
+
+    private final static PersonIdent AUTHOR = new PersonIdent("Jane Doe", "jane@example.com");
+
+    @Test
+    void parsesWellFormedTrailers() {
+        final List<String> persons = parse("""
+                Subject
+
+                Co-authored-by: John Smith <john@example.com>
+                Signed-off-by: Jane Doe <jane@example.com>
+                """);
+
+        assertEquals(List.of("CO_AUTHER John Smith john@example.com", "SIGNER Jane Doe jane@example.com"), persons);
+    }
+
+    @Test
+    void parsesMalformedCoAuthorsLeniently() {
+        final List<String> persons = parse("""
+                Subject
+
+                Co-authored-by: John john@example.com
+                Co-developed-by: mary@example.com
+                Co-authored-by: Bob
+                Co-authored-by: <anne@example.com>
+                Co-authored-by:
+                """);
+
+        assertEquals(List.of("CO_AUTHER John john@example.com", "CO_AUTHER UNKNOWN mary@example.com",
+                "CO_AUTHER Bob UNKNOWN", "CO_AUTHER UNKNOWN anne@example.com", "CO_AUTHER UNKNOWN UNKNOWN"),
+                persons);
+    }
+
+    @Test
+    void dropsMalformedSignOffs() {
+        final List<String> persons = parse("""
+                Subject
+
+                Signed-off-by: Jane jane@example.com
+                Signed-off-by: <jane@example.com>
+                signed-off-by: Jane Doe <jane@example.com>
+                """);
+
+        assertEquals(List.of(), persons);
+    }
+
+    @Test
+    void matchesCoAuthorsAnywhereInLineAndSignOffsAtLineStart() {
+        final List<String> persons = parse("""
+                Subject
+
+                See Co-authored-by: John Smith <john@example.com>
+                 Signed-off-by: Jane Doe <jane@example.com>
+                co-authored-by: Mary <mary@example.com>
+                """);
+
+        assertEquals(List.of("CO_AUTHER John Smith john@example.com"), persons);
+    }
+
+    @Test
+    void malformedCoAuthorYieldsInvalidPerson() throws Exception {
+        final Commit commit = CommitFactory.of(commit("""
+                Subject
+
+                Co-authored-by: John john@example.com
+                Signed-off-by: Jane Doe <jane@example.com>
+                """));
+
+        assertFalse(commit.isValid());
+        final Set<Person> invalidPersons = commit.invalidPersons();
+        assertEquals(1, invalidPersons.size());
+        final Person coAuthor = invalidPersons.iterator().next();
+        assertEquals("John", coAuthor.name());
+        assertEquals("john@example.com", coAuthor.email());
+    }
+
+    @Test
+    void detectsAuthorTrailersAnywhereInRawMessage() {
+        final TrailerParser parser = TrailerParser.defaultParser();
+
+        assertTrue(parser.containsAuthorTrailer(
+                "Subject\n\nSee Co-authored-by: John <john@example.com>\n".getBytes(StandardCharsets.UTF_8), 0));
+        assertTrue(parser.containsAuthorTrailer(
+                "Subject\n\nCo-developed-by: John\n".getBytes(StandardCharsets.UTF_8), 0));
+        assertFalse(parser.containsAuthorTrailer(
+                "Subject\n\nSigned-off-by: Jane <jane@example.com>\n".getBytes(StandardCharsets.UTF_8), 0));
+    }
+
+    private static List<String> parse(final String message) {
+        final List<String> persons = new ArrayList<>();
+        TrailerParser.defaultParser().parse(message,
+                (trailer, name, email) -> persons.add(trailer.role() + " " + name + " " + email));
+        return persons;
+    }
+
+    private static RevCommit commit(final String message) throws Exception {
+        final CommitBuilder builder = new CommitBuilder();
+        builder.setTreeId(ObjectId.zeroId());
+        builder.setAuthor(AUTHOR);
+        builder.setCommitter(AUTHOR);
+        builder.setMessage(message);
+        return RevCommit.parse(builder.build());
+    }
+}
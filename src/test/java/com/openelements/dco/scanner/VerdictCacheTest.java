@@ -0,0 +1,117 @@
+package com.openelements.dco.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VerdictCacheTest {
+
+    private final static PersonIdent AUTHOR = new PersonIdent("Jane Doe", "jane@example.com");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenedCacheReturnsStoredCommits() throws Exception {
+        final Path path = directory.resolve("verdicts.bin");
+        final Commit signed = commit("Signed\n\nSigned-off-by: Jane Doe <jane@example.com>\n");
+        final Commit coAuthored = commit("Co-authored\n\nCo-authored-by: John Smith <john@example.com>\n");
+        try (VerdictCache cache = VerdictCache.open(path)) {
+            cache.put(signed);
+            cache.put(coAuthored);
+        }
+
+        try (VerdictCache cache = VerdictCache.open(path)) {
+            assertTrue(cache.isEnabled());
+            assertEquals(2, cache.size());
+            assertEquals(CachedCommit.of(signed), cache.get(ObjectId.fromString(signed.identifier())));
+            assertEquals(CachedCommit.of(coAuthored), cache.get(ObjectId.fromString(coAuthored.identifier())));
+            assertTrue(cache.get(ObjectId.fromString(signed.identifier())).isValid());
+            assertFalse(cache.get(ObjectId.fromString(coAuthored.identifier())).isValid());
+        }
+    }
+
+    @Test
+    void truncatedTailIsDroppedOnOpen() throws Exception {
+        final Path path = directory.resolve("verdicts.bin");
+        final Commit first = commit("First");
+        final Commit second = commit("Second");
+        try (VerdictCache cache = VerdictCache.open(path)) {
+            cache.put(first);
+            cache.put(second);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        try (VerdictCache cache = VerdictCache.open(path)) {
+            assertEquals(1, cache.size());
+            assertEquals(CachedCommit.of(first), cache.get(ObjectId.fromString(first.identifier())));
+            assertNull(cache.get(ObjectId.fromString(second.identifier())));
+            cache.put(second);
+        }
+        try (VerdictCache cache = VerdictCache.open(path)) {
+            assertEquals(2, cache.size());
+            assertEquals(CachedCommit.of(second), cache.get(ObjectId.fromString(second.identifier())));
+        }
+    }
+
+    @Test
+    void commitsAppendedInTheSameRunAreFound() throws Exception {
+        final Path path = directory.resolve("verdicts.bin");
+        final Commit loaded = commit("Loaded");
+        try (VerdictCache cache = VerdictCache.open(path)) {
+            cache.put(loaded);
+        }
+        final Commit appended = commit("Appended\n\nCo-authored-by: Jane Doe <jane@example.com>\n");
+
+        try (VerdictCache cache = VerdictCache.open(path)) {
+            assertNull(cache.get(ObjectId.fromString(appended.identifier())));
+            cache.put(appended);
+            cache.put(appended);
+
+            assertEquals(2, cache.size());
+            assertEquals(CachedCommit.of(appended), cache.get(ObjectId.fromString(appended.identifier())));
+            assertEquals(CachedCommit.of(loaded), cache.get(ObjectId.fromString(loaded.identifier())));
+        }
+    }
+
+    @Test
+    void lockedCacheFallsBackToDisabled() throws Exception {
+        final Path path = directory.resolve("verdicts.bin");
+        final Commit commit = commit("Locked");
+        try (VerdictCache owner = VerdictCache.open(path)) {
+            final long size = Files.size(path);
+            try (VerdictCache cache = VerdictCache.open(path)) {
+                assertFalse(cache.isEnabled());
+                cache.put(commit);
+                assertNull(cache.get(ObjectId.fromString(commit.identifier())));
+                assertEquals(0, cache.size());
+            }
+            assertEquals(size, Files.size(path));
+            assertTrue(owner.isEnabled());
+            owner.put(commit);
+            assertEquals(CachedCommit.of(commit), owner.get(ObjectId.fromString(commit.identifier())));
+        }
+    }
+
+    private static Commit commit(final String message) throws Exception {
+        final CommitBuilder builder = new CommitBuilder();
+        builder.setTreeId(ObjectId.zeroId());
+        builder.setAuthor(AUTHOR);
+        builder.setCommitter(AUTHOR);
+        builder.setMessage(message);
+        return CommitFactory.of(RevCommit.parse(builder.build()));
+    }
+}